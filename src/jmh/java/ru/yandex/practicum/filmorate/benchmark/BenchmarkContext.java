@@ -0,0 +1,82 @@
+package ru.yandex.practicum.filmorate.benchmark;
+
+import org.springframework.boot.Banner;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+import ru.yandex.practicum.filmorate.FilmorateApplication;
+import ru.yandex.practicum.filmorate.config.CacheRegistry;
+import ru.yandex.practicum.filmorate.dao.LikesDao;
+import ru.yandex.practicum.filmorate.dao.impl.FriendshipGraph;
+import ru.yandex.practicum.filmorate.dao.impl.IdExistenceIndex;
+import ru.yandex.practicum.filmorate.dao.impl.LikesMatrix;
+import ru.yandex.practicum.filmorate.dao.impl.PopularFilmsLeaderboard;
+
+import java.util.UUID;
+
+final class BenchmarkContext {
+
+    private BenchmarkContext() {
+    }
+
+    static ConfigurableApplicationContext start() {
+        return new SpringApplicationBuilder(FilmorateApplication.class)
+                .web(WebApplicationType.NONE)
+                .bannerMode(Banner.Mode.OFF)
+                .run("--spring.datasource.url=jdbc:h2:mem:benchmark-" + UUID.randomUUID() + ";DB_CLOSE_DELAY=-1",
+                        "--spring.sql.init.encoding=UTF-8", "--logging.level.root=WARN");
+    }
+
+    static void addFilms(ConfigurableApplicationContext context, int films) {
+        JdbcTemplate jdbcTemplate = context.getBean(JdbcTemplate.class);
+        jdbcTemplate.update("insert into films (name, description, release_date, duration, mpa_id) " +
+                "select 'Film ' || x, 'description', dateadd(day, mod(x, 20000), date '1950-01-01'), " +
+                "90 + mod(x, 60), 1 + mod(x, 5) from system_range(1, ?)", films);
+        jdbcTemplate.update("insert into film_genre (film_id, genre_id) " +
+                "select f.x, 1 + mod(f.x + g.x * 2, 6) from system_range(1, ?) f, system_range(1, 2) g", films);
+    }
+
+    static void addUsers(ConfigurableApplicationContext context, int users) {
+        context.getBean(JdbcTemplate.class).update("insert into users (email, login, name, birthday) " +
+                "select 'user' || x || '@mail.ru', 'login' || x, 'name' || x, " +
+                "dateadd(day, mod(x, 15000), date '1960-01-01') from system_range(1, ?)", users);
+    }
+
+    static void addLikes(ConfigurableApplicationContext context, int films, int users, int likesPerUser) {
+        context.getBean(JdbcTemplate.class).update("insert into likes (film_id, user_id) " +
+                "select mod(u.x * 7919 + k.x * 104729, ?) + 1, u.x from system_range(1, ?) u, system_range(0, ?) k",
+                films, users, likesPerUser - 1);
+    }
+
+    static void addFriends(ConfigurableApplicationContext context, int fromUserId, int toUserId, int users,
+                           int friendsPerUser) {
+        context.getBean(JdbcTemplate.class).update("insert into friendship (user_id, friend_id, status) " +
+                "select u.x, mod(u.x + k.x - 1, ?) + 1, false from system_range(?, ?) u, system_range(1, ?) k",
+                users, fromUserId, toUserId, friendsPerUser);
+    }
+
+    static void addFriendRange(ConfigurableApplicationContext context, int userId, int firstFriendId,
+                               int lastFriendId) {
+        context.getBean(JdbcTemplate.class).update("insert into friendship (user_id, friend_id, status) " +
+                "select ?, x, false from system_range(?, ?)", userId, firstFriendId, lastFriendId);
+    }
+
+    static void addCommonFriends(ConfigurableApplicationContext context, int friends) {
+        int users = Math.max(1000, friends + friends / 2 + 2);
+        addUsers(context, users);
+        addFriends(context, 3, users, users, 10);
+        addFriendRange(context, 1, 3, friends + 2);
+        addFriendRange(context, 2, 3 + friends / 2, friends + 2 + friends / 2);
+        reload(context);
+    }
+
+    static void reload(ConfigurableApplicationContext context) {
+        context.getBean(LikesDao.class).recalculateLikesCount();
+        context.getBean(PopularFilmsLeaderboard.class).reload();
+        context.getBean(LikesMatrix.class).reload();
+        context.getBean(FriendshipGraph.class).reload();
+        context.getBean(IdExistenceIndex.class).reload();
+        context.getBean(CacheRegistry.class).invalidateAll();
+    }
+}
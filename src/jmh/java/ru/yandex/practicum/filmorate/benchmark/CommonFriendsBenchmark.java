@@ -0,0 +1,69 @@
+package ru.yandex.practicum.filmorate.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+import ru.yandex.practicum.filmorate.dao.FriendshipDao;
+import ru.yandex.practicum.filmorate.dao.impl.FriendshipGraph;
+import ru.yandex.practicum.filmorate.model.User;
+import ru.yandex.practicum.filmorate.service.impl.DbUserServiceImpl;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class CommonFriendsBenchmark {
+
+    @Param({"10", "1000", "100000"})
+    public int friends;
+
+    private ConfigurableApplicationContext context;
+    private DbUserServiceImpl userService;
+    private FriendshipDao friendshipDao;
+    private FriendshipGraph friendshipGraph;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkContext.start();
+        BenchmarkContext.addCommonFriends(context, friends);
+        userService = context.getBean(DbUserServiceImpl.class);
+        friendshipDao = context.getBean(FriendshipDao.class);
+        friendshipGraph = context.getBean(FriendshipGraph.class);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public List<User> getCommonFriends() {
+        return userService.getCommonFriends(1, 2);
+    }
+
+    @Benchmark
+    public List<User> getCommonFriendsWithSqlJoin() {
+        return friendshipDao.getCommonFriends(1, 2);
+    }
+
+    @Benchmark
+    public int[] getCommonFriendIds() {
+        return friendshipGraph.getCommonFriendIds(1, 2);
+    }
+}
@@ -0,0 +1,85 @@
+package ru.yandex.practicum.filmorate.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+import ru.yandex.practicum.filmorate.config.MetricsRegistry;
+import ru.yandex.practicum.filmorate.dao.impl.FilmDbStorage;
+import ru.yandex.practicum.filmorate.model.Film;
+import ru.yandex.practicum.filmorate.service.impl.DbFilmServiceImpl;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class FilmBenchmark {
+
+    private static final int USERS = 1000;
+    private static final int LIKES_PER_USER = 10;
+
+    @Param({"1000", "10000"})
+    public int films;
+
+    private ConfigurableApplicationContext context;
+    private FilmDbStorage filmStorage;
+    private DbFilmServiceImpl filmService;
+    private MetricsRegistry metricsRegistry;
+    private int likingUserId;
+    private int nextFilmId;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkContext.start();
+        BenchmarkContext.addFilms(context, films);
+        BenchmarkContext.addUsers(context, USERS + 1);
+        BenchmarkContext.addLikes(context, films, USERS, LIKES_PER_USER);
+        BenchmarkContext.reload(context);
+        filmStorage = context.getBean(FilmDbStorage.class);
+        filmService = context.getBean(DbFilmServiceImpl.class);
+        metricsRegistry = context.getBean(MetricsRegistry.class);
+        likingUserId = USERS + 1;
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public List<Film> getAllFilms(QueryCounter counter) {
+        metricsRegistry.startRequest();
+        List<Film> allFilms = filmStorage.getAllFilms();
+        counter.queries += metricsRegistry.finishRequest("benchmark getAllFilms");
+        return allFilms;
+    }
+
+    @Benchmark
+    public List<Film> getPopularFilm() {
+        return filmService.getPopularFilm(10);
+    }
+
+    @Benchmark
+    public int addAndDeleteLike() {
+        int filmId = nextFilmId % films + 1;
+        nextFilmId++;
+        filmService.addLike(filmId, likingUserId);
+        filmService.deleteLike(filmId, likingUserId);
+        return filmId;
+    }
+}
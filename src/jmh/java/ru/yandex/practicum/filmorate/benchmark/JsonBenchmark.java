@@ -0,0 +1,100 @@
+package ru.yandex.practicum.filmorate.benchmark;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+import ru.yandex.practicum.filmorate.model.Film;
+import ru.yandex.practicum.filmorate.model.Genre;
+import ru.yandex.practicum.filmorate.model.Mpa;
+import ru.yandex.practicum.filmorate.model.User;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class JsonBenchmark {
+
+    @Param({"10", "1000"})
+    public int relations;
+
+    private ConfigurableApplicationContext context;
+    private ObjectMapper objectMapper;
+    private Film film;
+    private User user;
+    private List<Film> films;
+    private String filmJson;
+
+    @Setup(Level.Trial)
+    public void setUp() throws JsonProcessingException {
+        context = BenchmarkContext.start();
+        objectMapper = context.getBean(ObjectMapper.class);
+        film = createFilm(1);
+        user = User.builder().id(1).email("user@mail.ru").login("login").name("name")
+                .birthday(LocalDate.of(1990, 1, 1)).build();
+        for (int i = 1; i <= relations; i++) {
+            user.getFriendsIds().add(i + 1);
+        }
+        films = new ArrayList<>();
+        for (int i = 1; i <= 100; i++) {
+            films.add(createFilm(i));
+        }
+        filmJson = objectMapper.writeValueAsString(film);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public String serializeFilm() throws JsonProcessingException {
+        return objectMapper.writeValueAsString(film);
+    }
+
+    @Benchmark
+    public String serializeUser() throws JsonProcessingException {
+        return objectMapper.writeValueAsString(user);
+    }
+
+    @Benchmark
+    public byte[] serializeFilmPage() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(films);
+    }
+
+    @Benchmark
+    public Film deserializeFilm() throws JsonProcessingException {
+        return objectMapper.readValue(filmJson, Film.class);
+    }
+
+    private Film createFilm(int id) {
+        Film created = Film.builder().id(id).name("Film " + id).description("description")
+                .releaseDate(LocalDate.of(2000, 1, 1)).duration(120)
+                .mpa(Mpa.builder().id(1).name("G").build()).build();
+        created.getGenres().add(Genre.builder().id(1).name("Комедия").build());
+        created.getGenres().add(Genre.builder().id(2).name("Драма").build());
+        for (int i = 1; i <= relations; i++) {
+            created.getLikes().add(i);
+        }
+        return created;
+    }
+}
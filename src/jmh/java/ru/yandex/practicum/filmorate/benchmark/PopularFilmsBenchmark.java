@@ -0,0 +1,107 @@
+package ru.yandex.practicum.filmorate.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.logging.LogLevel;
+import org.springframework.boot.logging.LoggingSystem;
+import ru.yandex.practicum.filmorate.dao.impl.PackedTopK;
+import ru.yandex.practicum.filmorate.model.Film;
+import ru.yandex.practicum.filmorate.model.Mpa;
+import ru.yandex.practicum.filmorate.model.User;
+import ru.yandex.practicum.filmorate.service.FilmService;
+import ru.yandex.practicum.filmorate.service.UserService;
+import ru.yandex.practicum.filmorate.service.impl.FilmServiceImpl;
+import ru.yandex.practicum.filmorate.service.impl.UserServiceImpl;
+import ru.yandex.practicum.filmorate.storage.film.InMemoryFilmStorage;
+import ru.yandex.practicum.filmorate.storage.user.InMemoryUserStorage;
+
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class PopularFilmsBenchmark {
+
+    private static final int MAX_LIKES = 8;
+
+    @Param({"10000", "100000", "1000000"})
+    public int films;
+
+    @Param({"10"})
+    public int count;
+
+    private FilmService filmService;
+    private long[] ranked;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        LoggingSystem.get(getClass().getClassLoader()).setLogLevel(LoggingSystem.ROOT_LOGGER_NAME, LogLevel.WARN);
+        SplittableRandom random = new SplittableRandom(42);
+        Mpa mpa = Mpa.builder().id(1).name("G").build();
+        InMemoryUserStorage userStorage = new InMemoryUserStorage();
+        UserService userService = new UserServiceImpl(userStorage);
+        for (int i = 1; i <= MAX_LIKES; i++) {
+            userService.createUser(User.builder().email("user" + i + "@mail.ru").login("user" + i)
+                    .birthday(LocalDate.of(1990, 1, 1)).build());
+        }
+        filmService = new FilmServiceImpl(new InMemoryFilmStorage(), userStorage);
+        ranked = new long[films];
+        for (int i = 0; i < films; i++) {
+            Film film = filmService.createFilm(Film.builder().name("Film" + i).description("description")
+                    .releaseDate(LocalDate.of(2000, 1, 1)).duration(100).mpa(mpa).build());
+            int likes = Math.min(MAX_LIKES, Long.numberOfTrailingZeros(random.nextLong() | 1L << MAX_LIKES));
+            for (int userId = 1; userId <= likes; userId++) {
+                filmService.addLike(film.getId(), userId);
+            }
+            ranked[i] = PackedTopK.pack(likes, film.getId());
+        }
+    }
+
+    @Benchmark
+    public List<Film> sortAllFilms() {
+        return filmService.getAllFilms().stream()
+                .sorted((f1, f2) -> f2.getLikes().size() - f1.getLikes().size())
+                .limit(count)
+                .collect(Collectors.toList());
+    }
+
+    @Benchmark
+    public List<Film> selectTopFilms() {
+        return filmService.getPopularFilm(count);
+    }
+
+    @Benchmark
+    public long[] sortPacked() {
+        long[] sorted = Arrays.copyOf(ranked, ranked.length);
+        Arrays.sort(sorted);
+        return Arrays.copyOfRange(sorted, sorted.length - count, sorted.length);
+    }
+
+    @Benchmark
+    public long[] heapPacked() {
+        return PackedTopK.top(ranked, ranked.length, count);
+    }
+
+    @Benchmark
+    public long[] parallelHeapPacked() {
+        return PackedTopK.topParallel(ranked, ranked.length, count);
+    }
+}
@@ -0,0 +1,75 @@
+package ru.yandex.practicum.filmorate.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+import ru.yandex.practicum.filmorate.dao.impl.FriendshipGraph;
+import ru.yandex.practicum.filmorate.dao.impl.LikesMatrix;
+
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class RecommendationBenchmark {
+
+    private static final int LIKES_PER_USER = 20;
+    private static final int FRIENDS_PER_USER = 20;
+
+    @Param({"10000", "100000"})
+    public int users;
+
+    @Param({"100000"})
+    public int films;
+
+    private ConfigurableApplicationContext context;
+    private LikesMatrix likesMatrix;
+    private FriendshipGraph friendshipGraph;
+    private int nextUserId;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkContext.start();
+        BenchmarkContext.addFilms(context, films);
+        BenchmarkContext.addUsers(context, users);
+        BenchmarkContext.addLikes(context, films, users, LIKES_PER_USER);
+        BenchmarkContext.addFriends(context, 1, users, users, FRIENDS_PER_USER);
+        BenchmarkContext.reload(context);
+        likesMatrix = context.getBean(LikesMatrix.class);
+        friendshipGraph = context.getBean(FriendshipGraph.class);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public int[] recommendFilms() {
+        return likesMatrix.recommendFilms(nextUserId(), 10, 50, 10000);
+    }
+
+    @Benchmark
+    public int[] recommendFriends() {
+        return friendshipGraph.recommendFriends(nextUserId(), 10, 1000, 100000, TimeUnit.MILLISECONDS.toNanos(50));
+    }
+
+    private int nextUserId() {
+        nextUserId = nextUserId % users + 1;
+        return nextUserId;
+    }
+}
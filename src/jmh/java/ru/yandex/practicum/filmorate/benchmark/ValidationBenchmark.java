@@ -0,0 +1,81 @@
+package ru.yandex.practicum.filmorate.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.dao.EmptyResultDataAccessException;
+import ru.yandex.practicum.filmorate.dao.impl.IdExistenceIndex;
+import ru.yandex.practicum.filmorate.dao.impl.UserDbStorage;
+
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class ValidationBenchmark {
+
+    @Param({"1000", "100000"})
+    public int users;
+
+    private ConfigurableApplicationContext context;
+    private IdExistenceIndex idExistenceIndex;
+    private UserDbStorage userStorage;
+    private int nextUserId;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkContext.start();
+        BenchmarkContext.addUsers(context, users);
+        BenchmarkContext.reload(context);
+        idExistenceIndex = context.getBean(IdExistenceIndex.class);
+        userStorage = context.getBean(UserDbStorage.class);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public boolean checkExistingUser() {
+        return idExistenceIndex.isUserExists(nextExistingUserId());
+    }
+
+    @Benchmark
+    public boolean checkMissingUser() {
+        return idExistenceIndex.isUserExists(users + 1);
+    }
+
+    @Benchmark
+    public boolean loadExistingUser() {
+        return userStorage.getUserById(nextExistingUserId()) != null;
+    }
+
+    @Benchmark
+    public boolean loadMissingUser() {
+        try {
+            return userStorage.getUserById(users + 1) != null;
+        } catch (EmptyResultDataAccessException e) {
+            return false;
+        }
+    }
+
+    private int nextExistingUserId() {
+        nextUserId = nextUserId % users + 1;
+        return nextUserId;
+    }
+}
@@ -0,0 +1,25 @@
+package ru.yandex.practicum.filmorate.config;
+
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import ru.yandex.practicum.filmorate.storage.film.CachingFilmStorage;
+import ru.yandex.practicum.filmorate.storage.film.FilmStorage;
+import ru.yandex.practicum.filmorate.storage.user.CachingUserStorage;
+import ru.yandex.practicum.filmorate.storage.user.UserStorage;
+
+@Configuration
+public class CacheConfig {
+
+    @Bean
+    public CachingFilmStorage cachingFilmStorage(@Qualifier("filmDbStorage") FilmStorage filmStorage,
+                                                 CacheRegistry cacheRegistry) {
+        return new CachingFilmStorage(filmStorage, cacheRegistry.create("films"));
+    }
+
+    @Bean
+    public CachingUserStorage cachingUserStorage(@Qualifier("userDbStorage") UserStorage userStorage,
+                                                 CacheRegistry cacheRegistry) {
+        return new CachingUserStorage(userStorage, cacheRegistry.create("users"));
+    }
+}
@@ -0,0 +1,58 @@
+package ru.yandex.practicum.filmorate.config;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import ru.yandex.practicum.filmorate.model.CacheStatistics;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentSkipListMap;
+
+@Component
+public class CacheRegistry {
+
+    private final long maximumSize;
+    private final Duration expireAfterWrite;
+    private final Map<String, Cache<?, ?>> caches = new ConcurrentSkipListMap<>();
+
+    public CacheRegistry(@Value("${filmorate.cache.maximum-size}") long maximumSize,
+                         @Value("${filmorate.cache.expire-after-write-seconds}") long expireAfterWriteSeconds) {
+        this.maximumSize = maximumSize;
+        this.expireAfterWrite = Duration.ofSeconds(expireAfterWriteSeconds);
+    }
+
+    public <K, V> Cache<K, V> create(String name) {
+        Cache<K, V> cache = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(expireAfterWrite)
+                .recordStats()
+                .build();
+        caches.put(name, cache);
+        return cache;
+    }
+
+    public void invalidateAll() {
+        caches.values().forEach(Cache::invalidateAll);
+    }
+
+    public List<CacheStatistics> getStatistics() {
+        List<CacheStatistics> statistics = new ArrayList<>(caches.size());
+        caches.forEach((name, cache) -> {
+            CacheStats stats = cache.stats();
+            statistics.add(CacheStatistics.builder()
+                    .name(name)
+                    .size(cache.estimatedSize())
+                    .hits(stats.hitCount())
+                    .misses(stats.missCount())
+                    .evictions(stats.evictionCount())
+                    .hitRate(stats.hitRate())
+                    .build());
+        });
+        return statistics;
+    }
+}
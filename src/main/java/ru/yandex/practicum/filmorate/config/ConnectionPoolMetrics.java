@@ -0,0 +1,81 @@
+package ru.yandex.practicum.filmorate.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.HikariPoolMXBean;
+import com.zaxxer.hikari.metrics.IMetricsTracker;
+import com.zaxxer.hikari.metrics.MetricsTrackerFactory;
+import com.zaxxer.hikari.metrics.PoolStats;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.stereotype.Component;
+import ru.yandex.practicum.filmorate.exception.ObjectNotFoundException;
+import ru.yandex.practicum.filmorate.model.PoolStatistics;
+
+import java.util.concurrent.atomic.LongAdder;
+
+@Component
+@Slf4j
+public class ConnectionPoolMetrics implements BeanPostProcessor, MetricsTrackerFactory {
+
+    private final LatencyHistogram acquireTime = new LatencyHistogram();
+    private final LongAdder usageMillis = new LongAdder();
+    private final LongAdder usages = new LongAdder();
+    private final LongAdder timeouts = new LongAdder();
+    private volatile HikariDataSource dataSource;
+
+    @Override
+    public Object postProcessAfterInitialization(Object bean, String beanName) {
+        if (bean instanceof HikariDataSource) {
+            HikariDataSource hikariDataSource = (HikariDataSource) bean;
+            hikariDataSource.setMetricsTrackerFactory(this);
+            dataSource = hikariDataSource;
+            log.info("Подключен сбор метрик пула соединений {}", beanName);
+        }
+        return bean;
+    }
+
+    @Override
+    public IMetricsTracker create(String poolName, PoolStats poolStats) {
+        return new IMetricsTracker() {
+            @Override
+            public void recordConnectionAcquiredNanos(long elapsedAcquiredNanos) {
+                acquireTime.record(elapsedAcquiredNanos);
+            }
+
+            @Override
+            public void recordConnectionUsageMillis(long elapsedBorrowedMillis) {
+                usageMillis.add(elapsedBorrowedMillis);
+                usages.increment();
+            }
+
+            @Override
+            public void recordConnectionTimeout() {
+                timeouts.increment();
+            }
+        };
+    }
+
+    public PoolStatistics getStatistics() {
+        HikariDataSource current = dataSource;
+        HikariPoolMXBean pool = current == null ? null : current.getHikariPoolMXBean();
+        if (pool == null) {
+            throw new ObjectNotFoundException("Пул соединений не используется или еще не запущен");
+        }
+        long usageCount = usages.sum();
+        return PoolStatistics.builder()
+                .poolName(current.getPoolName())
+                .maximumPoolSize(current.getMaximumPoolSize())
+                .minimumIdle(current.getMinimumIdle())
+                .active(pool.getActiveConnections())
+                .idle(pool.getIdleConnections())
+                .total(pool.getTotalConnections())
+                .pending(pool.getThreadsAwaitingConnection())
+                .acquired(acquireTime.getCount())
+                .timeouts(timeouts.sum())
+                .acquireTimeMeanMillis(acquireTime.getMeanMillis())
+                .acquireTimeMaxMillis(acquireTime.getMaxMillis())
+                .acquireTimeMillisHistogram(acquireTime.getBucketsMillis())
+                .usageTimeMeanMillis(usageCount == 0 ? 0 : (double) usageMillis.sum() / usageCount)
+                .build();
+    }
+}
@@ -0,0 +1,126 @@
+package ru.yandex.practicum.filmorate.config;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Component;
+import ru.yandex.practicum.filmorate.model.ExecutorStatistics;
+
+import javax.annotation.PreDestroy;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+@Component
+@Slf4j
+public class DbExecutor {
+
+    private final MetricsRegistry metricsRegistry;
+    private final boolean enabled;
+    private final int queueCapacity;
+    private final ThreadPoolExecutor executor;
+    private final LatencyHistogram queueTime = new LatencyHistogram();
+    private final LatencyHistogram executionTime = new LatencyHistogram();
+    private final LongAdder rejected = new LongAdder();
+
+    public DbExecutor(MetricsRegistry metricsRegistry,
+                      @Value("${filmorate.async.enabled}") boolean enabled,
+                      @Value("${filmorate.async.pool-size:${spring.datasource.hikari.maximum-pool-size}}") int poolSize,
+                      @Value("${filmorate.async.queue-capacity}") int queueCapacity) {
+        this.metricsRegistry = metricsRegistry;
+        this.enabled = enabled;
+        this.queueCapacity = queueCapacity;
+        this.executor = new ThreadPoolExecutor(poolSize, poolSize, 0, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity), new CustomizableThreadFactory("filmorate-db-"));
+        if (enabled) {
+            executor.prestartAllCoreThreads();
+            log.info("Асинхронная обработка запросов включена, потоков БД: {}, очередь: {}", poolSize,
+                    queueCapacity);
+        }
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public <T> CompletableFuture<T> supply(Supplier<T> supplier) {
+        if (!enabled) {
+            try {
+                return CompletableFuture.completedFuture(supplier.get());
+            } catch (RuntimeException e) {
+                return CompletableFuture.failedFuture(e);
+            }
+        }
+        CompletableFuture<T> result = new CompletableFuture<>();
+        Runnable task = instrument(() -> {
+            try {
+                result.complete(supplier.get());
+            } catch (Throwable e) {
+                result.completeExceptionally(e);
+            }
+        });
+        try {
+            executor.execute(task);
+        } catch (RejectedExecutionException e) {
+            rejected.increment();
+            log.warn("Очередь запросов к БД переполнена, размер очереди {}", queueCapacity);
+            result.completeExceptionally(e);
+        }
+        return result;
+    }
+
+    public CompletableFuture<Void> run(Runnable runnable) {
+        return supply(() -> {
+            runnable.run();
+            return null;
+        });
+    }
+
+    public ExecutorStatistics getStatistics() {
+        return ExecutorStatistics.builder()
+                .enabled(enabled)
+                .poolSize(executor.getMaximumPoolSize())
+                .active(executor.getActiveCount())
+                .queued(executor.getQueue().size())
+                .queueCapacity(queueCapacity)
+                .completed(executor.getCompletedTaskCount())
+                .rejected(rejected.sum())
+                .queueTimeMeanMillis(queueTime.getMeanMillis())
+                .queueTimeMaxMillis(queueTime.getMaxMillis())
+                .queueTimeMillisHistogram(queueTime.getBucketsMillis())
+                .executionTimeMeanMillis(executionTime.getMeanMillis())
+                .executionTimeMaxMillis(executionTime.getMaxMillis())
+                .build();
+    }
+
+    @PreDestroy
+    public void shutdown() throws InterruptedException {
+        executor.shutdown();
+        if (!executor.awaitTermination(10, TimeUnit.SECONDS)) {
+            log.warn("Потоки БД не завершились за 10 секунд");
+            executor.shutdownNow();
+        }
+    }
+
+    private Runnable instrument(Runnable runnable) {
+        AtomicInteger requestQueries = metricsRegistry.getCurrentRequest();
+        long submitted = System.nanoTime();
+        return () -> {
+            long started = System.nanoTime();
+            queueTime.record(started - submitted);
+            AtomicInteger previousQueries = metricsRegistry.getCurrentRequest();
+            metricsRegistry.attachRequest(requestQueries);
+            try {
+                runnable.run();
+            } finally {
+                metricsRegistry.attachRequest(previousQueries);
+                executionTime.record(System.nanoTime() - started);
+            }
+        };
+    }
+}
@@ -0,0 +1,60 @@
+package ru.yandex.practicum.filmorate.config;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+class LatencyHistogram {
+
+    private static final long[] BUCKET_BOUNDS_MICROS = {100, 500, 1_000, 5_000, 10_000, 50_000, 100_000, 500_000,
+            1_000_000};
+
+    private final LongAdder[] buckets = new LongAdder[BUCKET_BOUNDS_MICROS.length + 1];
+    private final LongAdder totalNanos = new LongAdder();
+    private final AtomicLong maxNanos = new AtomicLong();
+
+    LatencyHistogram() {
+        for (int i = 0; i < buckets.length; i++) {
+            buckets[i] = new LongAdder();
+        }
+    }
+
+    void record(long nanos) {
+        long micros = TimeUnit.NANOSECONDS.toMicros(nanos);
+        int bucket = 0;
+        while (bucket < BUCKET_BOUNDS_MICROS.length && micros > BUCKET_BOUNDS_MICROS[bucket]) {
+            bucket++;
+        }
+        buckets[bucket].increment();
+        totalNanos.add(nanos);
+        maxNanos.accumulateAndGet(nanos, Math::max);
+    }
+
+    long getCount() {
+        long count = 0;
+        for (LongAdder bucket : buckets) {
+            count += bucket.sum();
+        }
+        return count;
+    }
+
+    double getMeanMillis() {
+        long count = getCount();
+        return count == 0 ? 0 : totalNanos.sum() / 1e6 / count;
+    }
+
+    double getMaxMillis() {
+        return maxNanos.get() / 1e6;
+    }
+
+    Map<String, Long> getBucketsMillis() {
+        Map<String, Long> histogram = new LinkedHashMap<>();
+        for (int i = 0; i < buckets.length; i++) {
+            String bound = i < BUCKET_BOUNDS_MICROS.length ? String.valueOf(BUCKET_BOUNDS_MICROS[i] / 1000.0) : "+Inf";
+            histogram.put(bound, buckets[i].sum());
+        }
+        return histogram;
+    }
+}
@@ -0,0 +1,97 @@
+package ru.yandex.practicum.filmorate.config;
+
+import lombok.extern.slf4j.Slf4j;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.SqlProvider;
+import org.springframework.stereotype.Component;
+
+import java.time.temporal.Temporal;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+@Aspect
+@Component
+@Slf4j
+public class MetricsAspect {
+
+    private final MetricsRegistry metricsRegistry;
+    private final boolean slowQueryLogEnabled;
+    private final long slowQueryThresholdNanos;
+
+    public MetricsAspect(MetricsRegistry metricsRegistry,
+                         @Value("${filmorate.metrics.slow-query-log.enabled}") boolean slowQueryLogEnabled,
+                         @Value("${filmorate.metrics.slow-query-log.threshold-ms}") long slowQueryThresholdMs) {
+        this.metricsRegistry = metricsRegistry;
+        this.slowQueryLogEnabled = slowQueryLogEnabled;
+        this.slowQueryThresholdNanos = TimeUnit.MILLISECONDS.toNanos(slowQueryThresholdMs);
+    }
+
+    @Around("within(ru.yandex.practicum.filmorate..*) && (@within(org.springframework.stereotype.Repository)" +
+            " || @within(org.springframework.stereotype.Service))")
+    public Object timeMethod(ProceedingJoinPoint joinPoint) throws Throwable {
+        String name = joinPoint.getTarget().getClass().getSimpleName() + "." + joinPoint.getSignature().getName();
+        long start = System.nanoTime();
+        boolean failed = true;
+        try {
+            Object result = joinPoint.proceed();
+            failed = false;
+            return result;
+        } finally {
+            metricsRegistry.recordMethod(name, System.nanoTime() - start, failed);
+        }
+    }
+
+    @Around("execution(public * org.springframework.jdbc.core.JdbcTemplate.query*(..))" +
+            " || execution(public * org.springframework.jdbc.core.JdbcTemplate.update(..))" +
+            " || execution(public * org.springframework.jdbc.core.JdbcTemplate.batchUpdate(..))" +
+            " || execution(public * org.springframework.jdbc.core.JdbcTemplate.execute(..))")
+    public Object countQuery(ProceedingJoinPoint joinPoint) throws Throwable {
+        metricsRegistry.countQuery();
+        if (!slowQueryLogEnabled) {
+            return joinPoint.proceed();
+        }
+        long start = System.nanoTime();
+        try {
+            return joinPoint.proceed();
+        } finally {
+            long elapsed = System.nanoTime() - start;
+            if (elapsed >= slowQueryThresholdNanos) {
+                Object[] args = joinPoint.getArgs();
+                log.warn("Медленный запрос ({} мс): {}, параметры: {}", TimeUnit.NANOSECONDS.toMillis(elapsed),
+                        getSql(args), getParameters(args));
+            }
+        }
+    }
+
+    private String getSql(Object[] args) {
+        if (args.length > 0 && args[0] instanceof String) {
+            return (String) args[0];
+        }
+        if (args.length > 0 && args[0] instanceof SqlProvider) {
+            return ((SqlProvider) args[0]).getSql();
+        }
+        return "текст запроса недоступен";
+    }
+
+    private List<String> getParameters(Object[] args) {
+        List<String> parameters = new ArrayList<>();
+        for (int i = 1; i < args.length; i++) {
+            Object arg = args[i];
+            if (arg instanceof Object[]) {
+                parameters.add(Arrays.deepToString((Object[]) arg));
+            } else if (arg instanceof Collection) {
+                parameters.add("пакет из " + ((Collection<?>) arg).size() + " строк");
+            } else if (arg instanceof Number || arg instanceof CharSequence || arg instanceof Boolean
+                    || arg instanceof Temporal) {
+                parameters.add(String.valueOf(arg));
+            }
+        }
+        return parameters;
+    }
+}
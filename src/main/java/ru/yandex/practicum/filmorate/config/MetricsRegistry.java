@@ -0,0 +1,114 @@
+package ru.yandex.practicum.filmorate.config;
+
+import org.springframework.stereotype.Component;
+import ru.yandex.practicum.filmorate.model.RequestQueryStatistics;
+import ru.yandex.practicum.filmorate.model.TimerStatistics;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+@Component
+public class MetricsRegistry {
+
+    private final Map<String, MethodTimer> methodTimers = new ConcurrentSkipListMap<>();
+    private final Map<String, RequestQueries> requestQueries = new ConcurrentSkipListMap<>();
+    private final ThreadLocal<AtomicInteger> currentRequestQueries = new ThreadLocal<>();
+
+    public void recordMethod(String name, long nanos, boolean failed) {
+        MethodTimer timer = methodTimers.computeIfAbsent(name, key -> new MethodTimer());
+        timer.latency.record(nanos);
+        if (failed) {
+            timer.errors.increment();
+        }
+    }
+
+    public AtomicInteger startRequest() {
+        AtomicInteger queries = new AtomicInteger();
+        currentRequestQueries.set(queries);
+        return queries;
+    }
+
+    public AtomicInteger getCurrentRequest() {
+        return currentRequestQueries.get();
+    }
+
+    public void attachRequest(AtomicInteger queries) {
+        if (queries == null) {
+            currentRequestQueries.remove();
+        } else {
+            currentRequestQueries.set(queries);
+        }
+    }
+
+    public void detachRequest() {
+        currentRequestQueries.remove();
+    }
+
+    public void countQuery() {
+        AtomicInteger queries = currentRequestQueries.get();
+        if (queries != null) {
+            queries.incrementAndGet();
+        }
+    }
+
+    public int finishRequest(String endpoint) {
+        AtomicInteger queries = currentRequestQueries.get();
+        currentRequestQueries.remove();
+        if (queries == null) {
+            return 0;
+        }
+        return finishRequest(endpoint, queries);
+    }
+
+    public int finishRequest(String endpoint, AtomicInteger queries) {
+        int count = queries.get();
+        RequestQueries statistics = requestQueries.computeIfAbsent(endpoint, key -> new RequestQueries());
+        statistics.requests.increment();
+        statistics.queries.add(count);
+        statistics.maxQueries.accumulateAndGet(count, Math::max);
+        return count;
+    }
+
+    public List<TimerStatistics> getMethodStatistics() {
+        List<TimerStatistics> statistics = new ArrayList<>(methodTimers.size());
+        methodTimers.forEach((name, timer) -> statistics.add(TimerStatistics.builder()
+                .name(name)
+                .count(timer.latency.getCount())
+                .errors(timer.errors.sum())
+                .meanMillis(timer.latency.getMeanMillis())
+                .maxMillis(timer.latency.getMaxMillis())
+                .histogramMillis(timer.latency.getBucketsMillis())
+                .build()));
+        return statistics;
+    }
+
+    public List<RequestQueryStatistics> getRequestStatistics() {
+        List<RequestQueryStatistics> statistics = new ArrayList<>(requestQueries.size());
+        requestQueries.forEach((endpoint, queries) -> {
+            long requests = queries.requests.sum();
+            statistics.add(RequestQueryStatistics.builder()
+                    .endpoint(endpoint)
+                    .requests(requests)
+                    .queries(queries.queries.sum())
+                    .meanQueries(requests == 0 ? 0 : (double) queries.queries.sum() / requests)
+                    .maxQueries(queries.maxQueries.get())
+                    .build());
+        });
+        return statistics;
+    }
+
+    private static class MethodTimer {
+        private final LatencyHistogram latency = new LatencyHistogram();
+        private final LongAdder errors = new LongAdder();
+    }
+
+    private static class RequestQueries {
+        private final LongAdder requests = new LongAdder();
+        private final LongAdder queries = new LongAdder();
+        private final AtomicInteger maxQueries = new AtomicInteger();
+    }
+}
@@ -0,0 +1,73 @@
+package ru.yandex.practicum.filmorate.config;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import javax.servlet.AsyncEvent;
+import javax.servlet.AsyncListener;
+import javax.servlet.FilterChain;
+import javax.servlet.ServletException;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+@Component
+@Slf4j
+public class QueryCountFilter extends OncePerRequestFilter {
+
+    private final MetricsRegistry metricsRegistry;
+    private final int maxQueriesPerRequest;
+
+    public QueryCountFilter(MetricsRegistry metricsRegistry,
+                            @Value("${filmorate.metrics.max-queries-per-request}") int maxQueriesPerRequest) {
+        this.metricsRegistry = metricsRegistry;
+        this.maxQueriesPerRequest = maxQueriesPerRequest;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        AtomicInteger queries = metricsRegistry.startRequest();
+        try {
+            chain.doFilter(request, response);
+        } finally {
+            metricsRegistry.detachRequest();
+            if (request.isAsyncStarted()) {
+                request.getAsyncContext().addListener(new AsyncListener() {
+                    @Override
+                    public void onComplete(AsyncEvent event) {
+                        finishRequest(request, queries);
+                    }
+
+                    @Override
+                    public void onTimeout(AsyncEvent event) {
+                    }
+
+                    @Override
+                    public void onError(AsyncEvent event) {
+                    }
+
+                    @Override
+                    public void onStartAsync(AsyncEvent event) {
+                    }
+                });
+            } else {
+                finishRequest(request, queries);
+            }
+        }
+    }
+
+    private void finishRequest(HttpServletRequest request, AtomicInteger queries) {
+        Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        String endpoint = request.getMethod() + " " + (pattern == null ? request.getRequestURI() : pattern);
+        int count = metricsRegistry.finishRequest(endpoint, queries);
+        if (count > maxQueriesPerRequest) {
+            log.warn("Запрос {} выполнил {} обращений к БД, допустимо не больше {}", endpoint, count,
+                    maxQueriesPerRequest);
+        }
+    }
+}
@@ -0,0 +1,73 @@
+package ru.yandex.practicum.filmorate.controller;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import ru.yandex.practicum.filmorate.config.CacheRegistry;
+import ru.yandex.practicum.filmorate.config.ConnectionPoolMetrics;
+import ru.yandex.practicum.filmorate.config.DbExecutor;
+import ru.yandex.practicum.filmorate.config.MetricsRegistry;
+import ru.yandex.practicum.filmorate.dao.impl.ReferenceDataRegistry;
+import ru.yandex.practicum.filmorate.dao.impl.VersionRegistry;
+import ru.yandex.practicum.filmorate.model.CacheStatistics;
+import ru.yandex.practicum.filmorate.model.ExecutorStatistics;
+import ru.yandex.practicum.filmorate.model.PoolStatistics;
+import ru.yandex.practicum.filmorate.model.RequestQueryStatistics;
+import ru.yandex.practicum.filmorate.model.TimerStatistics;
+
+import java.util.List;
+
+@RestController
+@Slf4j
+@RequestMapping("/admin")
+@RequiredArgsConstructor
+public class AdminController {
+
+    private final CacheRegistry cacheRegistry;
+    private final ReferenceDataRegistry referenceData;
+    private final VersionRegistry versionRegistry;
+    private final ConnectionPoolMetrics connectionPoolMetrics;
+    private final MetricsRegistry metricsRegistry;
+    private final DbExecutor dbExecutor;
+
+    @GetMapping("/caches")
+    public List<CacheStatistics> getCacheStatistics() {
+        log.info("Запрос на получение статистики кэшей");
+        return cacheRegistry.getStatistics();
+    }
+
+    @GetMapping("/pool")
+    public PoolStatistics getPoolStatistics() {
+        log.info("Запрос на получение статистики пула соединений");
+        return connectionPoolMetrics.getStatistics();
+    }
+
+    @GetMapping("/executor")
+    public ExecutorStatistics getExecutorStatistics() {
+        log.info("Запрос на получение статистики потоков БД");
+        return dbExecutor.getStatistics();
+    }
+
+    @GetMapping("/metrics/methods")
+    public List<TimerStatistics> getMethodStatistics() {
+        log.info("Запрос на получение времени выполнения методов");
+        return metricsRegistry.getMethodStatistics();
+    }
+
+    @GetMapping("/metrics/requests")
+    public List<RequestQueryStatistics> getRequestStatistics() {
+        log.info("Запрос на получение числа обращений к БД по запросам");
+        return metricsRegistry.getRequestStatistics();
+    }
+
+    @PostMapping("/reference-data/reload")
+    public void reloadReferenceData() {
+        log.info("Запрос на перезагрузку справочников жанров и Mpa");
+        referenceData.reload();
+        cacheRegistry.invalidateAll();
+        versionRegistry.invalidateAll();
+    }
+}
@@ -0,0 +1,72 @@
+package ru.yandex.practicum.filmorate.controller;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.ServletWebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+import ru.yandex.practicum.filmorate.config.DbExecutor;
+import ru.yandex.practicum.filmorate.model.Film;
+
+import javax.validation.Valid;
+import java.util.*;
+import java.util.concurrent.CompletableFuture;
+
+@RestController
+@ConditionalOnProperty(name = "filmorate.async.enabled", havingValue = "true")
+@RequiredArgsConstructor
+@RequestMapping("/films")
+public class AsyncFilmController {
+
+    private final FilmRequestHandler films;
+    private final DbExecutor dbExecutor;
+
+    @PostMapping
+    public CompletableFuture<Film> createFilm(@Valid @RequestBody Film film) {
+        return dbExecutor.supply(() -> films.createFilm(film));
+    }
+
+    @PutMapping
+    public CompletableFuture<Film> updateFilm(@Valid @RequestBody Film film) {
+        return dbExecutor.supply(() -> films.updateFilm(film));
+    }
+
+    @GetMapping
+    public CompletableFuture<List<Film>> getAllFilms(@RequestParam(required = false) Integer after,
+                                                     @RequestParam(required = false) Integer limit) {
+        return dbExecutor.supply(() -> films.getAllFilms(after, limit));
+    }
+
+    @GetMapping("/stream")
+    public ResponseEntity<StreamingResponseBody> streamAllFilms() {
+        return films.streamAllFilms();
+    }
+
+    @PutMapping("/{id}/like/{userId}")
+    public CompletableFuture<Void> addLike(@PathVariable int id, @PathVariable int userId) {
+        return dbExecutor.run(() -> films.addLike(id, userId));
+    }
+
+    @DeleteMapping("/{id}/like/{userId}")
+    public CompletableFuture<Void> deleteLike(@PathVariable int id, @PathVariable int userId) {
+        return dbExecutor.run(() -> films.deleteLike(id, userId));
+    }
+
+    @GetMapping("/popular")
+    public CompletableFuture<List<Film>> getPopularFilms(
+            @RequestParam(defaultValue = "10", required = false) int count, ServletWebRequest request) {
+        if (films.isPopularFilmsNotModified(request)) {
+            return null;
+        }
+        return dbExecutor.supply(() -> films.getPopularFilms(count));
+    }
+
+    @GetMapping("/{id}")
+    public CompletableFuture<Film> getFilmById(@PathVariable int id, ServletWebRequest request) {
+        if (films.isFilmNotModified(id, request)) {
+            return null;
+        }
+        return dbExecutor.supply(() -> films.getFilmById(id));
+    }
+}
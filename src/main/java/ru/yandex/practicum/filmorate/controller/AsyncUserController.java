@@ -0,0 +1,86 @@
+package ru.yandex.practicum.filmorate.controller;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.ServletWebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+import ru.yandex.practicum.filmorate.config.DbExecutor;
+import ru.yandex.practicum.filmorate.model.Film;
+import ru.yandex.practicum.filmorate.model.User;
+
+import javax.validation.Valid;
+import java.util.*;
+import java.util.concurrent.CompletableFuture;
+
+@RestController
+@ConditionalOnProperty(name = "filmorate.async.enabled", havingValue = "true")
+@RequiredArgsConstructor
+@RequestMapping("/users")
+public class AsyncUserController {
+
+    private final UserRequestHandler users;
+    private final DbExecutor dbExecutor;
+
+    @PostMapping
+    public CompletableFuture<User> createUser(@Valid  @RequestBody User user) {
+        return dbExecutor.supply(() -> users.createUser(user));
+    }
+
+    @PutMapping
+    public CompletableFuture<User> updateUser(@Valid @RequestBody User user) {
+        return dbExecutor.supply(() -> users.updateUser(user));
+    }
+
+    @GetMapping
+    public CompletableFuture<List<User>> getAllUsers(@RequestParam(required = false) Integer after,
+                                                     @RequestParam(required = false) Integer limit) {
+        return dbExecutor.supply(() -> users.getAllUsers(after, limit));
+    }
+
+    @GetMapping("/stream")
+    public ResponseEntity<StreamingResponseBody> streamAllUsers() {
+        return users.streamAllUsers();
+    }
+
+    @PutMapping("/{id}/friends/{friendId}")
+    public CompletableFuture<Void> addFriend(@PathVariable int id, @PathVariable int friendId) {
+        return dbExecutor.run(() -> users.addFriend(id, friendId));
+    }
+
+    @DeleteMapping("/{id}/friends/{friendId}")
+    public CompletableFuture<Void> deleteFriend(@PathVariable int id, @PathVariable int friendId) {
+        return dbExecutor.run(() -> users.deleteFriend(id, friendId));
+    }
+
+    @GetMapping("/{id}")
+    public CompletableFuture<User> getUserById(@PathVariable int id, ServletWebRequest request) {
+        if (users.isUserNotModified(id, request)) {
+            return null;
+        }
+        return dbExecutor.supply(() -> users.getUserById(id));
+    }
+
+    @GetMapping("/{id}/friends")
+    public CompletableFuture<List<User>> getAllFriendsById(@PathVariable int id) {
+        return dbExecutor.supply(() -> users.getAllFriendsById(id));
+    }
+
+    @GetMapping("/{id}/friends/common/{otherId}")
+    public CompletableFuture<List<User>> getCommonFiends(@PathVariable int id, @PathVariable int otherId) {
+        return dbExecutor.supply(() -> users.getCommonFriends(id, otherId));
+    }
+
+    @GetMapping("/{id}/friends/recommendations")
+    public CompletableFuture<List<User>> getFriendRecommendations(
+            @PathVariable int id, @RequestParam(defaultValue = "10", required = false) int limit) {
+        return dbExecutor.supply(() -> users.getFriendRecommendations(id, limit));
+    }
+
+    @GetMapping("/{id}/recommendations")
+    public CompletableFuture<List<Film>> getRecommendations(
+            @PathVariable int id, @RequestParam(defaultValue = "10", required = false) int limit) {
+        return dbExecutor.supply(() -> users.getRecommendations(id, limit));
+    }
+}
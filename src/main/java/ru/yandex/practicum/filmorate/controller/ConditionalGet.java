@@ -0,0 +1,26 @@
+package ru.yandex.practicum.filmorate.controller;
+
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.web.context.request.ServletWebRequest;
+
+import javax.servlet.http.HttpServletResponse;
+
+public final class ConditionalGet {
+
+    private static final String CACHE_CONTROL = CacheControl.noCache().getHeaderValue();
+
+    private ConditionalGet() {
+    }
+
+    public static boolean isNotModified(ServletWebRequest request, String etag) {
+        if (etag == null) {
+            return false;
+        }
+        HttpServletResponse response = request.getResponse();
+        if (response != null) {
+            response.setHeader(HttpHeaders.CACHE_CONTROL, CACHE_CONTROL);
+        }
+        return request.checkNotModified(etag);
+    }
+}
@@ -1,64 +1,69 @@
 package ru.yandex.practicum.filmorate.controller;
 
-import lombok.extern.slf4j.Slf4j;
-import org.springframework.beans.factory.annotation.Qualifier;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.ServletWebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 import ru.yandex.practicum.filmorate.model.Film;
-import ru.yandex.practicum.filmorate.service.FilmService;
 
 import javax.validation.Valid;
 import java.util.*;
 
 @RestController
-@Slf4j
+@ConditionalOnProperty(name = "filmorate.async.enabled", havingValue = "false", matchIfMissing = true)
+@RequiredArgsConstructor
 @RequestMapping("/films")
 public class FilmController {
 
-    private final FilmService filmService;
-
-    public FilmController(@Qualifier("dbFilmServiceImpl") FilmService filmService) {
-        this.filmService = filmService;
-    }
+    private final FilmRequestHandler films;
 
     @PostMapping
     public Film createFilm(@Valid @RequestBody Film film) {
-        log.info("Запрос на добавление фильма: {}", film);
-        return filmService.createFilm(film);
+        return films.createFilm(film);
     }
 
     @PutMapping
     public Film updateFilm(@Valid @RequestBody Film film) {
-        log.info("Запрос на обновление флильма: {}", film);
-        return filmService.updateFilm(film);
+        return films.updateFilm(film);
     }
 
     @GetMapping
-    public List<Film> getAllFilms() {
-        log.info("Запрос на получение списка всех фильмов");
-        return filmService.getAllFilms();
+    public List<Film> getAllFilms(@RequestParam(required = false) Integer after,
+                                  @RequestParam(required = false) Integer limit) {
+        return films.getAllFilms(after, limit);
+    }
+
+    @GetMapping("/stream")
+    public ResponseEntity<StreamingResponseBody> streamAllFilms() {
+        return films.streamAllFilms();
     }
 
     @PutMapping("/{id}/like/{userId}")
     public void addLike(@PathVariable int id, @PathVariable int userId) {
-        log.info("Запрос на добавление лайка к фильму id={}", id);
-        filmService.addLike(id, userId);
+        films.addLike(id, userId);
     }
 
     @DeleteMapping("/{id}/like/{userId}")
     public void deleteLike(@PathVariable int id, @PathVariable int userId) {
-        log.info("Запрос на удаление лайка");
-        filmService.deleteLike(id, userId);
+        films.deleteLike(id, userId);
     }
 
     @GetMapping("/popular")
-    public List<Film> getPopularFilms(@RequestParam(defaultValue = "10", required = false) int count) {
-        log.info("Запрос на получение списка популярных фильмов");
-        return filmService.getPopularFilm(count);
+    public List<Film> getPopularFilms(
+            @RequestParam(defaultValue = "10", required = false) int count, ServletWebRequest request) {
+        if (films.isPopularFilmsNotModified(request)) {
+            return null;
+        }
+        return films.getPopularFilms(count);
     }
 
     @GetMapping("/{id}")
-    public Film getFilmById(@PathVariable int id) {
-        log.info("Запрос на получение фильма по id={}", id);
-        return  filmService.getFilmById(id);
+    public Film getFilmById(@PathVariable int id, ServletWebRequest request) {
+        if (films.isFilmNotModified(id, request)) {
+            return null;
+        }
+        return films.getFilmById(id);
     }
 }
@@ -0,0 +1,98 @@
+package ru.yandex.practicum.filmorate.controller;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Component;
+import org.springframework.web.context.request.ServletWebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+import ru.yandex.practicum.filmorate.dao.impl.VersionRegistry;
+import ru.yandex.practicum.filmorate.exception.ValidationException;
+import ru.yandex.practicum.filmorate.model.Film;
+import ru.yandex.practicum.filmorate.service.FilmService;
+
+import java.util.List;
+
+@Component
+@Slf4j
+class FilmRequestHandler {
+
+    private static final int DEFAULT_PAGE_SIZE = 100;
+    private static final int MAX_PAGE_SIZE = 1000;
+
+    private final FilmService filmService;
+    private final ObjectMapper objectMapper;
+    private final VersionRegistry versionRegistry;
+
+    FilmRequestHandler(@Qualifier("dbFilmServiceImpl") FilmService filmService, ObjectMapper objectMapper,
+                       VersionRegistry versionRegistry) {
+        this.filmService = filmService;
+        this.objectMapper = objectMapper;
+        this.versionRegistry = versionRegistry;
+    }
+
+    Film createFilm(Film film) {
+        log.info("Запрос на добавление фильма: {}", film);
+        return filmService.createFilm(film);
+    }
+
+    Film updateFilm(Film film) {
+        log.info("Запрос на обновление флильма: {}", film);
+        return filmService.updateFilm(film);
+    }
+
+    List<Film> getAllFilms(Integer after, Integer limit) {
+        if (after == null && limit == null) {
+            log.info("Запрос на получение списка всех фильмов");
+            return filmService.getAllFilms();
+        }
+        int pageSize = limit == null ? DEFAULT_PAGE_SIZE : limit;
+        validatePageSize(pageSize);
+        log.info("Запрос на получение страницы фильмов после id={}", after);
+        return filmService.getFilms(after == null ? 0 : after, pageSize);
+    }
+
+    ResponseEntity<StreamingResponseBody> streamAllFilms() {
+        log.info("Запрос на потоковое получение списка всех фильмов");
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(PagedJsonWriter.writeAll(objectMapper, MAX_PAGE_SIZE, filmService::getFilms, Film::getId));
+    }
+
+    void addLike(int id, int userId) {
+        log.info("Запрос на добавление лайка к фильму id={}", id);
+        filmService.addLike(id, userId);
+    }
+
+    void deleteLike(int id, int userId) {
+        log.info("Запрос на удаление лайка");
+        filmService.deleteLike(id, userId);
+    }
+
+    boolean isPopularFilmsNotModified(ServletWebRequest request) {
+        return ConditionalGet.isNotModified(request, versionRegistry.getFilmsTag());
+    }
+
+    List<Film> getPopularFilms(int count) {
+        log.info("Запрос на получение списка популярных фильмов");
+        return filmService.getPopularFilm(count);
+    }
+
+    boolean isFilmNotModified(int id, ServletWebRequest request) {
+        return ConditionalGet.isNotModified(request, versionRegistry.getFilmTag(id));
+    }
+
+    Film getFilmById(int id) {
+        log.info("Запрос на получение фильма по id={}", id);
+        return filmService.getFilmById(id);
+    }
+
+    private void validatePageSize(int pageSize) {
+        if (pageSize <= 0 || pageSize > MAX_PAGE_SIZE) {
+            log.error("Некорректный размер страницы: {}", pageSize);
+            throw new ValidationException("Размер страницы должен быть от 1 до " + MAX_PAGE_SIZE);
+        }
+    }
+}
@@ -6,7 +6,9 @@ import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.ServletWebRequest;
 import ru.yandex.practicum.filmorate.dao.GenreDao;
+import ru.yandex.practicum.filmorate.dao.impl.VersionRegistry;
 import ru.yandex.practicum.filmorate.model.Genre;
 
 import java.util.List;
@@ -18,9 +20,13 @@ import java.util.List;
 public class GenreController {
 
     private final GenreDao genreDao;
+    private final VersionRegistry versionRegistry;
 
     @GetMapping
-    public List<Genre> getAllGenres() {
+    public List<Genre> getAllGenres(ServletWebRequest request) {
+        if (ConditionalGet.isNotModified(request, versionRegistry.getReferenceDataTag())) {
+            return null;
+        }
         log.info("Запрос на получение списка всех жанров");
         return genreDao.getAllGenres();
     }
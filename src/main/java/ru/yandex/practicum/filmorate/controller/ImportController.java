@@ -0,0 +1,92 @@
+package ru.yandex.practicum.filmorate.controller;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.web.bind.annotation.*;
+import ru.yandex.practicum.filmorate.exception.ValidationException;
+import ru.yandex.practicum.filmorate.model.ImportFormat;
+import ru.yandex.practicum.filmorate.model.ImportProgress;
+import ru.yandex.practicum.filmorate.service.ImportService;
+
+import java.io.BufferedReader;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+@RestController
+@Slf4j
+@RequestMapping("/import")
+public class ImportController {
+
+    private static final int MAX_BATCH_SIZE = 10000;
+
+    private final ImportService importService;
+    private final int defaultBatchSize;
+
+    public ImportController(ImportService importService,
+                            @Value("${filmorate.import.batch-size}") int defaultBatchSize) {
+        this.importService = importService;
+        this.defaultBatchSize = defaultBatchSize;
+    }
+
+    @PostMapping("/films")
+    public ImportProgress importFilms(InputStream body,
+                                      @RequestHeader(value = HttpHeaders.CONTENT_TYPE, required = false)
+                                      String contentType,
+                                      @RequestParam(required = false) Integer batchSize) {
+        log.info("Запрос на импорт фильмов");
+        return importService.importFilms(toReader(body), ImportFormat.fromContentType(contentType),
+                resolveBatchSize(batchSize));
+    }
+
+    @PostMapping("/users")
+    public ImportProgress importUsers(InputStream body,
+                                      @RequestHeader(value = HttpHeaders.CONTENT_TYPE, required = false)
+                                      String contentType,
+                                      @RequestParam(required = false) Integer batchSize) {
+        log.info("Запрос на импорт пользователей");
+        return importService.importUsers(toReader(body), ImportFormat.fromContentType(contentType),
+                resolveBatchSize(batchSize));
+    }
+
+    @PostMapping("/likes")
+    public ImportProgress importLikes(InputStream body,
+                                      @RequestHeader(value = HttpHeaders.CONTENT_TYPE, required = false)
+                                      String contentType,
+                                      @RequestParam(required = false) Integer batchSize) {
+        log.info("Запрос на импорт лайков");
+        return importService.importLikes(toReader(body), ImportFormat.fromContentType(contentType),
+                resolveBatchSize(batchSize));
+    }
+
+    @PostMapping("/friendships")
+    public ImportProgress importFriendships(InputStream body,
+                                            @RequestHeader(value = HttpHeaders.CONTENT_TYPE, required = false)
+                                            String contentType,
+                                            @RequestParam(required = false) Integer batchSize) {
+        log.info("Запрос на импорт дружбы");
+        return importService.importFriendships(toReader(body), ImportFormat.fromContentType(contentType),
+                resolveBatchSize(batchSize));
+    }
+
+    @GetMapping
+    public List<ImportProgress> getImports() {
+        log.info("Запрос на получение состояния импортов");
+        return importService.getImports();
+    }
+
+    private BufferedReader toReader(InputStream body) {
+        return new BufferedReader(new InputStreamReader(body, StandardCharsets.UTF_8));
+    }
+
+    private int resolveBatchSize(Integer batchSize) {
+        int size = batchSize == null ? defaultBatchSize : batchSize;
+        if (size <= 0 || size > MAX_BATCH_SIZE) {
+            log.error("Некорректный размер пачки: {}", size);
+            throw new ValidationException("Размер пачки должен быть от 1 до " + MAX_BATCH_SIZE);
+        }
+        return size;
+    }
+}
@@ -6,7 +6,9 @@ import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.ServletWebRequest;
 import ru.yandex.practicum.filmorate.dao.MpaDao;
+import ru.yandex.practicum.filmorate.dao.impl.VersionRegistry;
 import ru.yandex.practicum.filmorate.model.Mpa;
 
 import java.util.List;
@@ -18,9 +20,13 @@ import java.util.List;
 public class MpaController {
 
     private final MpaDao mpaDao;
+    private final VersionRegistry versionRegistry;
 
     @GetMapping
-    public List<Mpa> getAllMpa() {
+    public List<Mpa> getAllMpa(ServletWebRequest request) {
+        if (ConditionalGet.isNotModified(request, versionRegistry.getReferenceDataTag())) {
+            return null;
+        }
         log.info("Запрос на получение списка всех Mpa");
         return mpaDao.getAllMpa();
     }
@@ -0,0 +1,38 @@
+package ru.yandex.practicum.filmorate.controller;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.util.List;
+import java.util.function.BiFunction;
+import java.util.function.ToIntFunction;
+
+class PagedJsonWriter {
+
+    private PagedJsonWriter() {
+    }
+
+    static <T> StreamingResponseBody writeAll(ObjectMapper objectMapper, int pageSize,
+                                              BiFunction<Integer, Integer, List<T>> pageLoader,
+                                              ToIntFunction<T> idExtractor) {
+        return outputStream -> {
+            try (JsonGenerator generator = objectMapper.getFactory().createGenerator(outputStream)) {
+                generator.writeStartArray();
+                int afterId = 0;
+                List<T> page;
+                do {
+                    page = pageLoader.apply(afterId, pageSize);
+                    for (T item : page) {
+                        generator.writeObject(item);
+                    }
+                    generator.flush();
+                    if (!page.isEmpty()) {
+                        afterId = idExtractor.applyAsInt(page.get(page.size() - 1));
+                    }
+                } while (page.size() == pageSize);
+                generator.writeEndArray();
+            }
+        };
+    }
+}
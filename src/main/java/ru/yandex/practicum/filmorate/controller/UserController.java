@@ -1,70 +1,83 @@
 package ru.yandex.practicum.filmorate.controller;
 
-import lombok.extern.slf4j.Slf4j;
-import org.springframework.beans.factory.annotation.Qualifier;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.ServletWebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+import ru.yandex.practicum.filmorate.model.Film;
 import ru.yandex.practicum.filmorate.model.User;
-import ru.yandex.practicum.filmorate.service.UserService;
 
 import javax.validation.Valid;
 import java.util.*;
 
 @RestController
-@Slf4j
+@ConditionalOnProperty(name = "filmorate.async.enabled", havingValue = "false", matchIfMissing = true)
+@RequiredArgsConstructor
 @RequestMapping("/users")
 public class UserController {
 
-    public UserController(@Qualifier("dbUserServiceImpl") UserService userService) {
-        this.userService = userService;
-    }
-
-    private final UserService userService;
+    private final UserRequestHandler users;
 
     @PostMapping
     public User createUser(@Valid  @RequestBody User user) {
-        log.info("Запрос на создание пользователя: {}", user);
-        return userService.createUser(user);
+        return users.createUser(user);
     }
 
     @PutMapping
     public User updateUser(@Valid @RequestBody User user) {
-        log.info("Запрос на обновление пользователя: {}", user);
-        return userService.updateUser(user);
+        return users.updateUser(user);
     }
 
     @GetMapping
-    public List<User> getAllUsers() {
-        log.info("Запрос на получение списка всех пользователей");
-        return userService.getAllUsers();
+    public List<User> getAllUsers(@RequestParam(required = false) Integer after,
+                                  @RequestParam(required = false) Integer limit) {
+        return users.getAllUsers(after, limit);
+    }
+
+    @GetMapping("/stream")
+    public ResponseEntity<StreamingResponseBody> streamAllUsers() {
+        return users.streamAllUsers();
     }
 
     @PutMapping("/{id}/friends/{friendId}")
     public void addFriend(@PathVariable int id, @PathVariable int friendId) {
-        log.info("Запрос на добавление в друзья");
-        userService.addFriend(id, friendId);
+        users.addFriend(id, friendId);
     }
 
     @DeleteMapping("/{id}/friends/{friendId}")
     public void deleteFriend(@PathVariable int id, @PathVariable int friendId) {
-        log.info("Запрос на удаление из друзей");
-        userService.deleteFriend(id, friendId);
+        users.deleteFriend(id, friendId);
     }
 
     @GetMapping("/{id}")
-    public User getUserById(@PathVariable int id) {
-        log.info("Запрос на получение пользователя по id={}", id);
-        return userService.getUserById(id);
+    public User getUserById(@PathVariable int id, ServletWebRequest request) {
+        if (users.isUserNotModified(id, request)) {
+            return null;
+        }
+        return users.getUserById(id);
     }
 
     @GetMapping("/{id}/friends")
     public List<User> getAllFriendsById(@PathVariable int id) {
-        log.info("Запрос на получение списка всех друзей пользователя id={}", id);
-        return userService.getAllFriendsById(id);
+        return users.getAllFriendsById(id);
     }
 
     @GetMapping("/{id}/friends/common/{otherId}")
     public List<User> getCommonFiends(@PathVariable int id, @PathVariable int otherId) {
-        log.info("Запрос на получение списка общих друзей пользователей id={} и id={}", id, otherId);
-        return userService.getCommonFriends(id, otherId);
+        return users.getCommonFriends(id, otherId);
+    }
+
+    @GetMapping("/{id}/friends/recommendations")
+    public List<User> getFriendRecommendations(
+            @PathVariable int id, @RequestParam(defaultValue = "10", required = false) int limit) {
+        return users.getFriendRecommendations(id, limit);
+    }
+
+    @GetMapping("/{id}/recommendations")
+    public List<Film> getRecommendations(
+            @PathVariable int id, @RequestParam(defaultValue = "10", required = false) int limit) {
+        return users.getRecommendations(id, limit);
     }
 }
@@ -0,0 +1,124 @@
+package ru.yandex.practicum.filmorate.controller;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Component;
+import org.springframework.web.context.request.ServletWebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+import ru.yandex.practicum.filmorate.dao.impl.VersionRegistry;
+import ru.yandex.practicum.filmorate.exception.ValidationException;
+import ru.yandex.practicum.filmorate.model.Film;
+import ru.yandex.practicum.filmorate.model.User;
+import ru.yandex.practicum.filmorate.service.FilmService;
+import ru.yandex.practicum.filmorate.service.UserService;
+
+import java.util.List;
+
+@Component
+@Slf4j
+class UserRequestHandler {
+
+    private static final int DEFAULT_PAGE_SIZE = 100;
+    private static final int MAX_PAGE_SIZE = 1000;
+    private static final int MAX_RECOMMENDATIONS = 100;
+
+    private final UserService userService;
+    private final FilmService filmService;
+    private final ObjectMapper objectMapper;
+    private final VersionRegistry versionRegistry;
+
+    UserRequestHandler(@Qualifier("dbUserServiceImpl") UserService userService,
+                       @Qualifier("dbFilmServiceImpl") FilmService filmService, ObjectMapper objectMapper,
+                       VersionRegistry versionRegistry) {
+        this.userService = userService;
+        this.filmService = filmService;
+        this.objectMapper = objectMapper;
+        this.versionRegistry = versionRegistry;
+    }
+
+    User createUser(User user) {
+        log.info("Запрос на создание пользователя: {}", user);
+        return userService.createUser(user);
+    }
+
+    User updateUser(User user) {
+        log.info("Запрос на обновление пользователя: {}", user);
+        return userService.updateUser(user);
+    }
+
+    List<User> getAllUsers(Integer after, Integer limit) {
+        if (after == null && limit == null) {
+            log.info("Запрос на получение списка всех пользователей");
+            return userService.getAllUsers();
+        }
+        int pageSize = limit == null ? DEFAULT_PAGE_SIZE : limit;
+        validatePageSize(pageSize);
+        log.info("Запрос на получение страницы пользователей после id={}", after);
+        return userService.getUsers(after == null ? 0 : after, pageSize);
+    }
+
+    ResponseEntity<StreamingResponseBody> streamAllUsers() {
+        log.info("Запрос на потоковое получение списка всех пользователей");
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(PagedJsonWriter.writeAll(objectMapper, MAX_PAGE_SIZE, userService::getUsers, User::getId));
+    }
+
+    void addFriend(int id, int friendId) {
+        log.info("Запрос на добавление в друзья");
+        userService.addFriend(id, friendId);
+    }
+
+    void deleteFriend(int id, int friendId) {
+        log.info("Запрос на удаление из друзей");
+        userService.deleteFriend(id, friendId);
+    }
+
+    boolean isUserNotModified(int id, ServletWebRequest request) {
+        return ConditionalGet.isNotModified(request, versionRegistry.getUserTag(id));
+    }
+
+    User getUserById(int id) {
+        log.info("Запрос на получение пользователя по id={}", id);
+        return userService.getUserById(id);
+    }
+
+    List<User> getAllFriendsById(int id) {
+        log.info("Запрос на получение списка всех друзей пользователя id={}", id);
+        return userService.getAllFriendsById(id);
+    }
+
+    List<User> getCommonFriends(int id, int otherId) {
+        log.info("Запрос на получение списка общих друзей пользователей id={} и id={}", id, otherId);
+        return userService.getCommonFriends(id, otherId);
+    }
+
+    List<User> getFriendRecommendations(int id, int limit) {
+        validateRecommendationsLimit(limit);
+        log.info("Запрос на получение рекомендаций друзей для пользователя id={}", id);
+        return userService.getFriendRecommendations(id, limit);
+    }
+
+    List<Film> getRecommendations(int id, int limit) {
+        validateRecommendationsLimit(limit);
+        log.info("Запрос на получение рекомендаций фильмов для пользователя id={}", id);
+        return filmService.getRecommendations(id, limit);
+    }
+
+    private void validatePageSize(int pageSize) {
+        if (pageSize <= 0 || pageSize > MAX_PAGE_SIZE) {
+            log.error("Некорректный размер страницы: {}", pageSize);
+            throw new ValidationException("Размер страницы должен быть от 1 до " + MAX_PAGE_SIZE);
+        }
+    }
+
+    private void validateRecommendationsLimit(int limit) {
+        if (limit <= 0 || limit > MAX_RECOMMENDATIONS) {
+            log.error("Некорректное количество рекомендаций: {}", limit);
+            throw new ValidationException("Количество рекомендаций должно быть от 1 до " + MAX_RECOMMENDATIONS);
+        }
+    }
+}
@@ -2,7 +2,10 @@ package ru.yandex.practicum.filmorate.dao;
 
 import ru.yandex.practicum.filmorate.model.User;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 
 public interface FriendshipDao {
 
@@ -12,6 +15,11 @@ public interface FriendshipDao {
 
     List<User> getAllFriendsById(int userId);
 
+    Map<Integer, Set<Integer>> getFriendsIdsByUserIds(Collection<Integer> userIds);
+
+    /**
+     * Общие друзья одним SQL-запросом, с ним CommonFriendsBenchmark сравнивает FriendshipGraph.
+     */
     List<User> getCommonFriends(int userId, int friendId);
 
     void updateFriendship(int userId, int friendId, boolean status);
@@ -0,0 +1,17 @@
+package ru.yandex.practicum.filmorate.dao;
+
+import ru.yandex.practicum.filmorate.model.Film;
+import ru.yandex.practicum.filmorate.model.User;
+
+import java.util.List;
+
+public interface ImportDao {
+
+    List<Film> addFilms(List<Film> films);
+
+    int addUsers(List<User> users);
+
+    int addLikes(List<int[]> likes);
+
+    int addFriendships(List<int[]> friendships);
+}
@@ -2,14 +2,27 @@ package ru.yandex.practicum.filmorate.dao;
 
 import ru.yandex.practicum.filmorate.model.Film;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
 
 public interface LikesDao {
     void addLikeToFilm(int filmId, int userId);
 
-    void deleteLikeFromFilm(int filmId, int userId);
+    boolean deleteLikeFromFilm(int filmId, int userId);
+
+    void saveLikeChanges(List<int[]> addedLikes, List<int[]> deletedLikes);
 
     List<Integer> getFilmsLikes(int filmId);
 
+    Map<Integer, List<Integer>> getLikesByFilmIds(Collection<Integer> filmIds);
+
+    /**
+     * Популярные фильмы прямо из БД. Сервис их не вызывает: /films/popular отвечает из PopularFilmsLeaderboard.
+     */
     List<Film> getPopularFilm(int count);
+
+    Map<Integer, Integer> getLikesCountByFilmId();
+
+    int recalculateLikesCount();
 }
@@ -0,0 +1,195 @@
+package ru.yandex.practicum.filmorate.dao.impl;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.sql.Array;
+import java.sql.PreparedStatement;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class DuplicateRecordsMerger {
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Transactional
+    public int mergeFilms() {
+        String sql = "select f.film_id, f.name, f.release_date, f.duration from films as f " +
+                "join (select name, release_date, duration from films group by name, release_date, duration " +
+                "having count(*) > 1) as d " +
+                "on f.name = d.name and f.release_date = d.release_date and f.duration = d.duration " +
+                "order by f.film_id";
+        Map<List<Object>, Integer> keeperIdByKey = new HashMap<>();
+        Map<Integer, Integer> keeperIdByFilmId = new HashMap<>();
+        jdbcTemplate.query(sql, rs -> {
+            int filmId = rs.getInt("film_id");
+            List<Object> key = List.of(rs.getString("name"), rs.getDate("release_date"), rs.getInt("duration"));
+            Integer keeperId = keeperIdByKey.putIfAbsent(key, filmId);
+            if (keeperId != null) {
+                keeperIdByFilmId.put(filmId, keeperId);
+            }
+        });
+        if (keeperIdByFilmId.isEmpty()) {
+            log.info("Одинаковых фильмов не найдено");
+            return 0;
+        }
+        logMergedGroups("Фильмы {} объединены с фильмом id = {}", keeperIdByFilmId);
+        List<Object[]> remap = toRemapArgs(keeperIdByFilmId);
+        jdbcTemplate.batchUpdate("merge into likes (film_id, user_id) key (film_id, user_id) " +
+                "select cast(? as integer), user_id from likes where film_id = ?", remap);
+        jdbcTemplate.batchUpdate("merge into film_genre (film_id, genre_id) key (film_id, genre_id) " +
+                "select cast(? as integer), genre_id from film_genre where film_id = ?", remap);
+        jdbcTemplate.batchUpdate("delete from films where film_id = ?", toIdArgs(keeperIdByFilmId.keySet()));
+        jdbcTemplate.batchUpdate("update films set likes_count = (select count(*) from likes where film_id = ?) " +
+                "where film_id = ?", toIdPairArgs(keeperIdByFilmId.values()));
+        log.warn("Удалено одинаковых фильмов: {}", keeperIdByFilmId.size());
+        return keeperIdByFilmId.size();
+    }
+
+    @Transactional
+    public int mergeUsers() {
+        String sql = "select user_id, email, login from users " +
+                "where email in (select email from users group by email having count(*) > 1) " +
+                "or login in (select login from users group by login having count(*) > 1) order by user_id";
+        Map<Integer, Integer> parentById = new HashMap<>();
+        Map<String, Integer> firstIdByEmail = new HashMap<>();
+        Map<String, Integer> firstIdByLogin = new HashMap<>();
+        jdbcTemplate.query(sql, rs -> {
+            int userId = rs.getInt("user_id");
+            parentById.put(userId, userId);
+            union(parentById, userId, firstIdByEmail.computeIfAbsent(rs.getString("email"), email -> userId));
+            union(parentById, userId, firstIdByLogin.computeIfAbsent(rs.getString("login"), login -> userId));
+        });
+        Map<Integer, Integer> keeperIdByUserId = new HashMap<>();
+        for (Integer userId : parentById.keySet()) {
+            int keeperId = find(parentById, userId);
+            if (keeperId != userId) {
+                keeperIdByUserId.put(userId, keeperId);
+            }
+        }
+        if (keeperIdByUserId.isEmpty()) {
+            log.info("Пользователей с одинаковыми email или логином не найдено");
+            return 0;
+        }
+        logMergedGroups("Пользователи {} объединены с пользователем id = {}", keeperIdByUserId);
+        List<Integer> filmIds = queryByIds("select distinct film_id from likes where user_id = any(?)",
+                keeperIdByUserId.keySet());
+        jdbcTemplate.batchUpdate("merge into likes (film_id, user_id) key (film_id, user_id) " +
+                "select film_id, cast(? as integer) from likes where user_id = ?", toRemapArgs(keeperIdByUserId));
+        jdbcTemplate.batchUpdate("merge into friendship (user_id, friend_id, status) key (user_id, friend_id) " +
+                "values (?, ?, false)", remapFriendships(keeperIdByUserId));
+        jdbcTemplate.batchUpdate("delete from users where user_id = ?", toIdArgs(keeperIdByUserId.keySet()));
+        Set<Integer> keeperIds = new HashSet<>(keeperIdByUserId.values());
+        updateByIds("update friendship as f set status = exists(select 1 from friendship as r " +
+                "where r.user_id = f.friend_id and r.friend_id = f.user_id) " +
+                "where f.user_id = any(?) or f.friend_id = any(?)", keeperIds);
+        jdbcTemplate.batchUpdate("update films set likes_count = (select count(*) from likes where film_id = ?) " +
+                "where film_id = ?", toIdPairArgs(filmIds));
+        log.warn("Удалено пользователей с одинаковыми email или логином: {}", keeperIdByUserId.size());
+        return keeperIdByUserId.size();
+    }
+
+    private List<Object[]> remapFriendships(Map<Integer, Integer> keeperIdByUserId) {
+        Set<List<Integer>> friendships = new LinkedHashSet<>();
+        String sql = "select user_id, friend_id from friendship where user_id = any(?) or friend_id = any(?)";
+        jdbcTemplate.query(connection -> {
+            PreparedStatement ps = connection.prepareStatement(sql);
+            Array ids = connection.createArrayOf("INTEGER", keeperIdByUserId.keySet().toArray());
+            ps.setArray(1, ids);
+            ps.setArray(2, ids);
+            return ps;
+        }, rs -> {
+            int userId = keeperIdByUserId.getOrDefault(rs.getInt("user_id"), rs.getInt("user_id"));
+            int friendId = keeperIdByUserId.getOrDefault(rs.getInt("friend_id"), rs.getInt("friend_id"));
+            if (userId != friendId) {
+                friendships.add(List.of(userId, friendId));
+            }
+        });
+        List<Object[]> args = new ArrayList<>(friendships.size());
+        for (List<Integer> friendship : friendships) {
+            args.add(friendship.toArray());
+        }
+        return args;
+    }
+
+    private List<Integer> queryByIds(String sql, Collection<Integer> ids) {
+        return jdbcTemplate.query(connection -> {
+            PreparedStatement ps = connection.prepareStatement(sql);
+            ps.setArray(1, connection.createArrayOf("INTEGER", ids.toArray()));
+            return ps;
+        }, (rs, rowNum) -> rs.getInt(1));
+    }
+
+    private void updateByIds(String sql, Collection<Integer> ids) {
+        jdbcTemplate.update(connection -> {
+            PreparedStatement ps = connection.prepareStatement(sql);
+            Array array = connection.createArrayOf("INTEGER", ids.toArray());
+            ps.setArray(1, array);
+            ps.setArray(2, array);
+            return ps;
+        });
+    }
+
+    private static int find(Map<Integer, Integer> parentById, int id) {
+        int root = id;
+        while (parentById.get(root) != root) {
+            root = parentById.get(root);
+        }
+        while (id != root) {
+            int parent = parentById.put(id, root);
+            id = parent;
+        }
+        return root;
+    }
+
+    private static void union(Map<Integer, Integer> parentById, int firstId, int secondId) {
+        int firstRoot = find(parentById, firstId);
+        int secondRoot = find(parentById, secondId);
+        if (firstRoot != secondRoot) {
+            parentById.put(Math.max(firstRoot, secondRoot), Math.min(firstRoot, secondRoot));
+        }
+    }
+
+    private void logMergedGroups(String message, Map<Integer, Integer> keeperIdById) {
+        Map<Integer, List<Integer>> idsByKeeperId = new TreeMap<>();
+        keeperIdById.forEach((id, keeperId) -> idsByKeeperId.computeIfAbsent(keeperId, k -> new ArrayList<>())
+                .add(id));
+        idsByKeeperId.forEach((keeperId, ids) -> log.warn(message, ids, keeperId));
+    }
+
+    private static List<Object[]> toRemapArgs(Map<Integer, Integer> keeperIdById) {
+        List<Object[]> args = new ArrayList<>(keeperIdById.size());
+        keeperIdById.forEach((id, keeperId) -> args.add(new Object[]{keeperId, id}));
+        return args;
+    }
+
+    private static List<Object[]> toIdArgs(Iterable<Integer> ids) {
+        List<Object[]> args = new ArrayList<>();
+        for (Integer id : ids) {
+            args.add(new Object[]{id});
+        }
+        return args;
+    }
+
+    private static List<Object[]> toIdPairArgs(Collection<Integer> ids) {
+        List<Object[]> args = new ArrayList<>();
+        for (Integer id : new TreeSet<>(ids)) {
+            args.add(new Object[]{id, id});
+        }
+        return args;
+    }
+}
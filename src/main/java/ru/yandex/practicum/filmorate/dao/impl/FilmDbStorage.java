@@ -2,16 +2,18 @@ package ru.yandex.practicum.filmorate.dao.impl;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DuplicateKeyException;
 import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.jdbc.support.GeneratedKeyHolder;
 import org.springframework.jdbc.support.KeyHolder;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 import ru.yandex.practicum.filmorate.dao.GenreDao;
 import ru.yandex.practicum.filmorate.dao.LikesDao;
 import ru.yandex.practicum.filmorate.exception.ObjectNotFoundException;
+import ru.yandex.practicum.filmorate.exception.ValidationException;
 import ru.yandex.practicum.filmorate.model.Film;
 import ru.yandex.practicum.filmorate.model.Genre;
-import ru.yandex.practicum.filmorate.model.Mpa;
 import ru.yandex.practicum.filmorate.storage.film.FilmStorage;
 
 import java.sql.*;
@@ -27,8 +29,10 @@ public class FilmDbStorage implements FilmStorage {
     private final JdbcTemplate jdbcTemplate;
     private final GenreDao genreDao;
     private final LikesDao likesDao;
+    private final ReferenceDataRegistry referenceData;
 
     @Override
+    @Transactional
     public Film createFilm(Film film) {
         validateMpa(film.getMpa().getId());
         for (Genre genre : film.getGenres()) {
@@ -36,22 +40,31 @@ public class FilmDbStorage implements FilmStorage {
         }
         String sql = "insert into films (name, description, release_date, duration, mpa_id) values(?, ?, ?, ?, ?)";
         KeyHolder keyHolder = new GeneratedKeyHolder();
-        jdbcTemplate.update(connection -> {
-            PreparedStatement ps = connection.prepareStatement(sql, Statement.RETURN_GENERATED_KEYS);
-            ps.setString(1, film.getName());
-            ps.setString(2, film.getDescription());
-            ps.setDate(3, Date.valueOf(film.getReleaseDate()));
-            ps.setInt(4, film.getDuration());
-            ps.setInt(5, film.getMpa().getId());
-            return ps;
-        }, keyHolder);
+        try {
+            jdbcTemplate.update(connection -> {
+                PreparedStatement ps = connection.prepareStatement(sql, Statement.RETURN_GENERATED_KEYS);
+                ps.setString(1, film.getName());
+                ps.setString(2, film.getDescription());
+                ps.setDate(3, Date.valueOf(film.getReleaseDate()));
+                ps.setInt(4, film.getDuration());
+                ps.setInt(5, film.getMpa().getId());
+                return ps;
+            }, keyHolder);
+        } catch (DuplicateKeyException e) {
+            if (UniqueIndexes.isViolated(e, UniqueIndexes.FILMS_NAME_RELEASE_DATE_DURATION)) {
+                throw duplicateFilmException(film);
+            }
+            throw e;
+        }
         film.setId(Objects.requireNonNull(keyHolder.getKey()).intValue());
-        film.getGenres().forEach(genre -> addGenreToFilm(film.getId(), genre.getId()));
+        Set<Integer> genreIds = resolveGenres(film);
+        addGenresToFilm(film.getId(), genreIds);
         log.info("Фильм {} сохранен", film);
         return film;
     }
 
     @Override
+    @Transactional
     public Film updateFilm(Film film) {
         validateMpa(film.getMpa().getId());
         for (Genre genre : film.getGenres()) {
@@ -59,16 +72,25 @@ public class FilmDbStorage implements FilmStorage {
         }
         String sql = "update films set name = ?, description = ?, release_date = ?, duration = ?, mpa_id = ?" +
                 " where film_id = ?";
-        if (jdbcTemplate.update(sql, film.getName(), film.getDescription(), film.getReleaseDate(),
-                film.getDuration(), film.getMpa().getId(), film.getId()) > 0) {
-            deleteAllGenresFromFilm(film.getId());
-            Set<Genre> genres = film.getGenres();
-            for (Genre genre : genres) {
-                addGenreToFilm(film.getId(), genre.getId());
+        int updatedRows;
+        try {
+            updatedRows = jdbcTemplate.update(sql, film.getName(), film.getDescription(), film.getReleaseDate(),
+                    film.getDuration(), film.getMpa().getId(), film.getId());
+        } catch (DuplicateKeyException e) {
+            if (UniqueIndexes.isViolated(e, UniqueIndexes.FILMS_NAME_RELEASE_DATE_DURATION)) {
+                throw duplicateFilmException(film);
             }
-            genres.clear();
-            List<Genre> genresToAdd = genreDao.getGenreByFilmId(film.getId());
-            genres.addAll(genresToAdd);
+            throw e;
+        }
+        if (updatedRows > 0) {
+            Set<Integer> genreIds = resolveGenres(film);
+            Set<Integer> currentGenreIds = new HashSet<>(jdbcTemplate.queryForList(
+                    "select genre_id from film_genre where film_id = ?", Integer.class, film.getId()));
+            Set<Integer> genresToAdd = new HashSet<>(genreIds);
+            genresToAdd.removeAll(currentGenreIds);
+            currentGenreIds.removeAll(genreIds);
+            deleteGenresFromFilm(film.getId(), currentGenreIds);
+            addGenresToFilm(film.getId(), genresToAdd);
             return film;
         }
         log.debug("Фильм с id={} не найден", film.getId());
@@ -77,22 +99,23 @@ public class FilmDbStorage implements FilmStorage {
 
     @Override
     public List<Film> getAllFilms() {
-        String sql = "select f.*, m.name from films as f join mpa as m on f.mpa_id = m.mpa_id";
+        String sql = "select * from films order by film_id";
         List<Film> films = jdbcTemplate.query(sql, (rs, rowNum) -> mapRowToFilm(rs));
-        for (Film film: films) {
-            Set<Genre> filmGenres = film.getGenres();
-            List<Genre> genresToAdd = genreDao.getGenreByFilmId(film.getId());
-            filmGenres.addAll(genresToAdd);
-            Set<Integer> likes = film.getLikes();
-            List<Integer> likesFromDB = likesDao.getFilmsLikes(film.getId());
-            likes.addAll(likesFromDB);
-        }
+        addGenresAndLikes(films);
+        return films;
+    }
+
+    @Override
+    public List<Film> getFilms(int afterId, int limit) {
+        String sql = "select * from films where film_id > ? order by film_id limit ?";
+        List<Film> films = jdbcTemplate.query(sql, (rs, rowNum) -> mapRowToFilm(rs), afterId, limit);
+        addGenresAndLikes(films);
         return films;
     }
 
     @Override
     public Film getFilmById(int filmId) {
-        String sql = "select f.*, m.name from films as f join mpa as m on f.mpa_id = m.mpa_id where f.film_id = ?";
+        String sql = "select * from films where film_id = ?";
         Film film = jdbcTemplate.queryForObject(sql, (rs, rowNum) -> mapRowToFilm(rs), filmId);
         if (film != null) {
             Set<Genre> filmGenres = film.getGenres();
@@ -105,14 +128,78 @@ public class FilmDbStorage implements FilmStorage {
         return film;
     }
 
-    private void addGenreToFilm(int filmId, int genreId) {
-        String sql = "insert into film_genre (film_id, genre_id) values(?, ?)";
-        jdbcTemplate.update(sql, filmId, genreId);
+    @Override
+    public List<Film> getFilmsByIds(List<Integer> filmIds) {
+        if (filmIds.isEmpty()) {
+            return new ArrayList<>();
+        }
+        String sql = "select * from films where film_id = any(?)";
+        Map<Integer, Film> filmsById = new HashMap<>();
+        jdbcTemplate.query(connection -> {
+            PreparedStatement ps = connection.prepareStatement(sql);
+            ps.setArray(1, connection.createArrayOf("INTEGER", filmIds.toArray()));
+            return ps;
+        }, rs -> {
+            Film film = mapRowToFilm(rs);
+            filmsById.put(film.getId(), film);
+        });
+        List<Film> films = new ArrayList<>(filmsById.size());
+        for (Integer filmId : filmIds) {
+            Film film = filmsById.get(filmId);
+            if (film != null) {
+                films.add(film);
+            }
+        }
+        addGenresAndLikes(films);
+        return films;
+    }
+
+    private void addGenresAndLikes(List<Film> films) {
+        if (films.isEmpty()) {
+            return;
+        }
+        List<Integer> filmIds = new ArrayList<>(films.size());
+        for (Film film : films) {
+            filmIds.add(film.getId());
+        }
+        Map<Integer, List<Genre>> genres = genreDao.getGenresByFilmIds(filmIds);
+        Map<Integer, List<Integer>> likes = likesDao.getLikesByFilmIds(filmIds);
+        for (Film film : films) {
+            film.getGenres().addAll(genres.getOrDefault(film.getId(), Collections.emptyList()));
+            film.getLikes().addAll(likes.getOrDefault(film.getId(), Collections.emptyList()));
+        }
+    }
+
+    private Set<Integer> resolveGenres(Film film) {
+        Set<Genre> genres = film.getGenres();
+        Set<Integer> genreIds = new HashSet<>();
+        for (Genre genre : genres) {
+            genreIds.add(genre.getId());
+        }
+        genres.clear();
+        for (Integer genreId : genreIds) {
+            genres.add(referenceData.getGenre(genreId));
+        }
+        return genreIds;
+    }
+
+    private void addGenresToFilm(int filmId, Collection<Integer> genreIds) {
+        updateGenresOfFilm("insert into film_genre (film_id, genre_id) values(?, ?)", filmId, genreIds);
     }
 
-    private void deleteAllGenresFromFilm(int filmId) {
-        String sql = "delete from film_genre where film_id = ?";
-        jdbcTemplate.update(sql, filmId);
+    private void deleteGenresFromFilm(int filmId, Collection<Integer> genreIds) {
+        updateGenresOfFilm("delete from film_genre where film_id = ? and genre_id = ?", filmId, genreIds);
+    }
+
+    private void updateGenresOfFilm(String sql, int filmId, Collection<Integer> genreIds) {
+        if (genreIds.isEmpty()) {
+            return;
+        }
+        List<Object[]> batchArgs = new ArrayList<>(genreIds.size());
+        for (Integer genreId : genreIds) {
+            batchArgs.add(new Object[]{filmId, genreId});
+        }
+        jdbcTemplate.batchUpdate(sql, batchArgs);
     }
 
     private Film mapRowToFilm(ResultSet rs) throws SQLException {
@@ -121,19 +208,25 @@ public class FilmDbStorage implements FilmStorage {
                 .description(rs.getString("description"))
                 .releaseDate(rs.getDate("release_date").toLocalDate())
                 .duration(rs.getInt("duration"))
-                .mpa(Mpa.builder().id(rs.getInt("mpa_id"))
-                        .name(rs.getString("mpa.name")).build()).build();
+                .mpa(referenceData.getMpa(rs.getInt("mpa_id"))).build();
+    }
+
+    private ValidationException duplicateFilmException(Film film) {
+        log.error("Фильм с name={}, releaseDate={}, duration={}, уже существует", film.getName(),
+                film.getReleaseDate(), film.getDuration());
+        return new ValidationException("Фильм с name=" + film.getName() + ", releaseDate=" +
+                film.getReleaseDate() + ", duration= " + film.getDuration() + ", уже существует");
     }
 
     private void validateMpa(int mpaId) {
-        if (mpaId <= 0 || mpaId > 5) {
+        if (!referenceData.isMpaKnown(mpaId)) {
             log.error("Неорректно переданны данные по Mpa");
             throw new ObjectNotFoundException("Неорректно переданы данные по Mpa");
         }
     }
 
     private void validateGenre(int genreId) {
-        if (genreId <= 0 || genreId > 6) {
+        if (!referenceData.isGenreKnown(genreId)) {
             log.error("Неорректно переданны данные по жанру");
             throw new ObjectNotFoundException("Неорректно переданы данные по жанру");
         }
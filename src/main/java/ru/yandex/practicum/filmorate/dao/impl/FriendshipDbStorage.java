@@ -9,8 +9,10 @@ import ru.yandex.practicum.filmorate.dao.FriendshipDao;
 import ru.yandex.practicum.filmorate.exception.ValidationException;
 import ru.yandex.practicum.filmorate.model.User;
 
-import java.util.ArrayList;
-import java.util.List;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.*;
 
 @Repository
 @RequiredArgsConstructor
@@ -46,24 +48,40 @@ public class FriendshipDbStorage implements FriendshipDao {
     @Override
     public List<User> getAllFriendsById(int userId) {
         String sql = "select * from users where user_id in (select friend_id from friendship where user_id = ?)";
-        return jdbcTemplate.query(sql, (rs, rowNum) -> User.builder()
-                .id(rs.getInt("user_id"))
-                .email(rs.getString("email"))
-                .login(rs.getString("login"))
-                .name(rs.getString("name"))
-                .birthday(rs.getDate("birthday").toLocalDate()).build(), userId);
+        return jdbcTemplate.query(sql, (rs, rowNum) -> mapRowToUser(rs), userId);
     }
 
     @Override
-    public List<User> getCommonFriends(int userId, int friendId) {
-        List<User> commonFriends = new ArrayList<>();
-        List<User> friendsOfUser = getAllFriendsById(userId);
-        List<User> friendsOfFriend = getAllFriendsById(friendId);
-        for (User user: friendsOfUser) {
-            if (friendsOfFriend.contains(user)) {
-                commonFriends.add(user);
-            }
+    public Map<Integer, Set<Integer>> getFriendsIdsByUserIds(Collection<Integer> userIds) {
+        Map<Integer, Set<Integer>> friendsIdsByUserId = new HashMap<>();
+        if (userIds.isEmpty()) {
+            return friendsIdsByUserId;
         }
-        return commonFriends;
+        String sql = "select user_id, friend_id from friendship where user_id = any(?)";
+        jdbcTemplate.query(connection -> {
+            PreparedStatement ps = connection.prepareStatement(sql);
+            ps.setArray(1, connection.createArrayOf("INTEGER", userIds.toArray()));
+            return ps;
+        }, rs -> {
+            friendsIdsByUserId.computeIfAbsent(rs.getInt("user_id"), id -> new HashSet<>()).add(rs.getInt("friend_id"));
+        });
+        return friendsIdsByUserId;
+    }
+
+    @Override
+    public List<User> getCommonFriends(int userId, int friendId) {
+        String sql = "select u.* from friendship as f1 join friendship as f2 on f1.friend_id = f2.friend_id " +
+                "join users as u on u.user_id = f1.friend_id where f1.user_id = ? and f2.user_id = ? " +
+                "order by u.user_id";
+        return jdbcTemplate.query(sql, (rs, rowNum) -> mapRowToUser(rs), userId, friendId);
+    }
+
+    private User mapRowToUser(ResultSet rs) throws SQLException {
+        return User.builder()
+                .id(rs.getInt("user_id"))
+                .email(rs.getString("email"))
+                .login(rs.getString("login"))
+                .name(rs.getString("name"))
+                .birthday(rs.getDate("birthday").toLocalDate()).build();
     }
 }
@@ -0,0 +1,121 @@
+package ru.yandex.practicum.filmorate.dao.impl;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import javax.annotation.PostConstruct;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+import static ru.yandex.practicum.filmorate.dao.impl.SortedIntArrays.EMPTY;
+
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class FriendshipGraph {
+
+    private final JdbcTemplate jdbcTemplate;
+    private final ReadWriteLock reloadLock = new ReentrantReadWriteLock();
+    private volatile Map<Integer, int[]> friendsByUserId = new ConcurrentHashMap<>();
+
+    @PostConstruct
+    public void reload() {
+        reloadLock.writeLock().lock();
+        try {
+            SortedIntArrays.Loader loader = new SortedIntArrays.Loader("user_id", "friend_id");
+            jdbcTemplate.query("select user_id, friend_id from friendship order by user_id, friend_id", loader);
+            friendsByUserId = loader.finish();
+            log.info("Граф дружбы загружен, пользователей: {}, связей: {}", friendsByUserId.size(),
+                    loader.getRows());
+        } finally {
+            reloadLock.writeLock().unlock();
+        }
+    }
+
+    public int[] getFriendIds(int userId) {
+        return friendsByUserId.getOrDefault(userId, EMPTY).clone();
+    }
+
+    public boolean hasFriend(int userId, int friendId) {
+        return SortedIntArrays.contains(friendsByUserId.getOrDefault(userId, EMPTY), friendId);
+    }
+
+    public int[] getCommonFriendIds(int userId, int otherUserId) {
+        Map<Integer, int[]> current = friendsByUserId;
+        return SortedIntArrays.intersect(current.getOrDefault(userId, EMPTY),
+                current.getOrDefault(otherUserId, EMPTY));
+    }
+
+    public int[] recommendFriends(int userId, int limit, int maxFanOut, int maxVisitedEdges, long timeoutNanos) {
+        long deadline = System.nanoTime() + timeoutNanos;
+        Map<Integer, int[]> current = friendsByUserId;
+        int[] friends = current.getOrDefault(userId, EMPTY);
+        int[] candidates = new int[Math.min(maxVisitedEdges, 1024)];
+        int size = 0;
+        int visitedEdges = 0;
+        traversal:
+        for (int i = 0; i < friends.length && i < maxFanOut; i++) {
+            int[] friendsOfFriend = current.getOrDefault(friends[i], EMPTY);
+            int fanOut = Math.min(friendsOfFriend.length, maxFanOut);
+            for (int j = 0; j < fanOut; j++) {
+                if (visitedEdges == maxVisitedEdges
+                        || (visitedEdges & 1023) == 1023 && System.nanoTime() > deadline) {
+                    log.debug("Обход графа дружбы для пользователя id={} остановлен после {} связей",
+                            userId, visitedEdges);
+                    break traversal;
+                }
+                visitedEdges++;
+                int candidate = friendsOfFriend[j];
+                if (candidate != userId && !SortedIntArrays.contains(friends, candidate)) {
+                    if (size == candidates.length) {
+                        candidates = Arrays.copyOf(candidates, size * 2);
+                    }
+                    candidates[size++] = candidate;
+                }
+            }
+        }
+        Arrays.sort(candidates, 0, size);
+        long[] ranked = new long[size];
+        int rankedSize = 0;
+        int i = 0;
+        while (i < size) {
+            int candidate = candidates[i];
+            int mutualFriends = 0;
+            while (i < size && candidates[i] == candidate) {
+                mutualFriends++;
+                i++;
+            }
+            ranked[rankedSize++] = PackedTopK.pack(mutualFriends, candidate);
+        }
+        long[] top = PackedTopK.top(ranked, rankedSize, limit);
+        int[] recommendations = new int[top.length];
+        for (int k = 0; k < top.length; k++) {
+            recommendations[k] = PackedTopK.unpackId(top[k]);
+        }
+        return recommendations;
+    }
+
+    public void addFriend(int userId, int friendId) {
+        reloadLock.readLock().lock();
+        try {
+            friendsByUserId.compute(userId, (id, friends) ->
+                    SortedIntArrays.insert(friends == null ? EMPTY : friends, friendId));
+        } finally {
+            reloadLock.readLock().unlock();
+        }
+    }
+
+    public void deleteFriend(int userId, int friendId) {
+        reloadLock.readLock().lock();
+        try {
+            friendsByUserId.computeIfPresent(userId, (id, friends) -> SortedIntArrays.remove(friends, friendId));
+        } finally {
+            reloadLock.readLock().unlock();
+        }
+    }
+}
@@ -2,14 +2,14 @@ package ru.yandex.practicum.filmorate.dao.impl;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.dao.EmptyResultDataAccessException;
 import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.stereotype.Repository;
 import ru.yandex.practicum.filmorate.dao.GenreDao;
 import ru.yandex.practicum.filmorate.exception.ObjectNotFoundException;
 import ru.yandex.practicum.filmorate.model.Genre;
 
-import java.util.List;
+import java.sql.PreparedStatement;
+import java.util.*;
 
 @Repository
 @RequiredArgsConstructor
@@ -17,31 +17,44 @@ import java.util.List;
 public class GenreDbStorage implements GenreDao {
 
     private final JdbcTemplate jdbcTemplate;
+    private final ReferenceDataRegistry referenceData;
 
     @Override
     public List<Genre> getAllGenres() {
-        String sql = "select * from genres order by genre_id";
-        return jdbcTemplate.query(sql, (rs, rowNum) -> Genre.builder()
-                .id(rs.getInt("genre_id")).name(rs.getString("name")).build());
+        return referenceData.getAllGenres();
     }
 
     @Override
     public Genre getGenreById(int genreId) {
-        String sql = "select * from genres where genre_id = ?";
-        try {
-            return jdbcTemplate.queryForObject(sql, (rs, rowNum) -> Genre.builder()
-                    .id(rs.getInt("genre_id")).name(rs.getString("name")).build(), genreId);
-        } catch (EmptyResultDataAccessException e) {
+        Genre genre = referenceData.getGenre(genreId);
+        if (genre == null) {
             log.debug("Жанр с id={} не найден",genreId);
             throw new ObjectNotFoundException("Жанр с id = " + genreId + "не найден");
         }
+        return genre;
     }
 
     @Override
     public List<Genre> getGenreByFilmId(int filmId) {
-        String sql = "select g.* from film_genre as fg join genres as g on fg.genre_id = g.genre_id where " +
-                "fg.film_id = ? order by g.genre_id";
-        return jdbcTemplate.query(sql, (rs, rowNum) -> Genre.builder()
-                .id(rs.getInt("genre_id")).name(rs.getString("name")).build(), filmId);
+        String sql = "select genre_id from film_genre where film_id = ? order by genre_id";
+        return jdbcTemplate.query(sql, (rs, rowNum) -> referenceData.getGenre(rs.getInt("genre_id")), filmId);
+    }
+
+    @Override
+    public Map<Integer, List<Genre>> getGenresByFilmIds(Collection<Integer> filmIds) {
+        Map<Integer, List<Genre>> genresByFilmId = new HashMap<>();
+        if (filmIds.isEmpty()) {
+            return genresByFilmId;
+        }
+        String sql = "select film_id, genre_id from film_genre where film_id = any(?) order by film_id, genre_id";
+        jdbcTemplate.query(connection -> {
+            PreparedStatement ps = connection.prepareStatement(sql);
+            ps.setArray(1, connection.createArrayOf("INTEGER", filmIds.toArray()));
+            return ps;
+        }, rs -> {
+            genresByFilmId.computeIfAbsent(rs.getInt("film_id"), id -> new ArrayList<>())
+                    .add(referenceData.getGenre(rs.getInt("genre_id")));
+        });
+        return genresByFilmId;
     }
 }
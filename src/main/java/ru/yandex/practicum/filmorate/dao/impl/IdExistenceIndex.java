@@ -0,0 +1,102 @@
+package ru.yandex.practicum.filmorate.dao.impl;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.ResultSetExtractor;
+import org.springframework.stereotype.Component;
+
+import javax.annotation.PostConstruct;
+import java.sql.ResultSet;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class IdExistenceIndex {
+
+    private static final ResultSetExtractor<Boolean> HAS_ROW = ResultSet::next;
+
+    private final JdbcTemplate jdbcTemplate;
+    private volatile IdBitSet filmIds = new IdBitSet();
+    private volatile IdBitSet userIds = new IdBitSet();
+
+    @PostConstruct
+    public synchronized void reload() {
+        IdBitSet loadedFilmIds = new IdBitSet();
+        jdbcTemplate.query("select film_id from films", rs -> {
+            loadedFilmIds.set(rs.getInt("film_id"));
+        });
+        IdBitSet loadedUserIds = new IdBitSet();
+        jdbcTemplate.query("select user_id from users", rs -> {
+            loadedUserIds.set(rs.getInt("user_id"));
+        });
+        filmIds = loadedFilmIds;
+        userIds = loadedUserIds;
+        log.info("Индекс идентификаторов загружен, фильмов: {}, пользователей: {}", loadedFilmIds.count(),
+                loadedUserIds.count());
+    }
+
+    public boolean isFilmExists(int filmId) {
+        return exists(filmIds, "select 1 from films where film_id = ?", filmId);
+    }
+
+    public boolean isUserExists(int userId) {
+        return exists(userIds, "select 1 from users where user_id = ?", userId);
+    }
+
+    public void addFilm(int filmId) {
+        filmIds.set(filmId);
+    }
+
+    public void addUser(int userId) {
+        userIds.set(userId);
+    }
+
+    private boolean exists(IdBitSet ids, String sql, int id) {
+        if (id <= 0) {
+            return false;
+        }
+        if (ids.get(id)) {
+            return true;
+        }
+        if (Boolean.TRUE.equals(jdbcTemplate.query(sql, HAS_ROW, id))) {
+            ids.set(id);
+            return true;
+        }
+        return false;
+    }
+
+    private static class IdBitSet {
+        private volatile AtomicLongArray words = new AtomicLongArray(0);
+
+        private boolean get(int id) {
+            AtomicLongArray current = words;
+            int index = id >>> 6;
+            return index < current.length() && (current.get(index) & (1L << id)) != 0;
+        }
+
+        private synchronized void set(int id) {
+            int index = id >>> 6;
+            AtomicLongArray current = words;
+            if (index >= current.length()) {
+                AtomicLongArray grown = new AtomicLongArray(Math.max(index + 1, current.length() * 2));
+                for (int i = 0; i < current.length(); i++) {
+                    grown.set(i, current.get(i));
+                }
+                words = grown;
+                current = grown;
+            }
+            current.set(index, current.get(index) | (1L << id));
+        }
+
+        private synchronized int count() {
+            AtomicLongArray current = words;
+            int count = 0;
+            for (int i = 0; i < current.length(); i++) {
+                count += Long.bitCount(current.get(i));
+            }
+            return count;
+        }
+    }
+}
@@ -0,0 +1,166 @@
+package ru.yandex.practicum.filmorate.dao.impl;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+import ru.yandex.practicum.filmorate.dao.ImportDao;
+import ru.yandex.practicum.filmorate.model.Film;
+import ru.yandex.practicum.filmorate.model.Genre;
+import ru.yandex.practicum.filmorate.model.User;
+
+import java.sql.Date;
+import java.sql.PreparedStatement;
+import java.time.LocalDate;
+import java.util.*;
+
+@Repository
+@RequiredArgsConstructor
+@Slf4j
+public class ImportDbStorage implements ImportDao {
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Override
+    @Transactional
+    public List<Film> addFilms(List<Film> films) {
+        Map<List<Object>, Film> filmsByKey = new LinkedHashMap<>();
+        for (Film film : films) {
+            filmsByKey.putIfAbsent(filmKey(film.getName(), film.getReleaseDate(), film.getDuration()), film);
+        }
+        Set<List<Object>> existingKeys = findFilmIds(filmsByKey.values()).keySet();
+        String sql = "insert into films (name, description, release_date, duration, mpa_id) select ?, ?, ?, ?, ? " +
+                "where not exists(select 1 from films where name = ? and release_date = ? and duration = ?)";
+        List<Object[]> batchArgs = new ArrayList<>(filmsByKey.size());
+        filmsByKey.forEach((key, film) -> {
+            if (!existingKeys.contains(key)) {
+                Date releaseDate = Date.valueOf(film.getReleaseDate());
+                batchArgs.add(new Object[]{film.getName(), film.getDescription(), releaseDate, film.getDuration(),
+                        film.getMpa().getId(), film.getName(), releaseDate, film.getDuration()});
+            }
+        });
+        jdbcTemplate.batchUpdate(sql, batchArgs);
+        Map<List<Object>, Integer> filmIdsByKey = findFilmIds(filmsByKey.values());
+        List<Film> createdFilms = new ArrayList<>(batchArgs.size());
+        filmsByKey.forEach((key, film) -> {
+            Integer filmId = filmIdsByKey.get(key);
+            if (filmId != null && !existingKeys.contains(key)) {
+                film.setId(filmId);
+                createdFilms.add(film);
+            }
+        });
+        List<Object[]> genreArgs = new ArrayList<>();
+        for (Film film : createdFilms) {
+            for (Genre genre : film.getGenres()) {
+                genreArgs.add(new Object[]{film.getId(), genre.getId()});
+            }
+        }
+        if (!genreArgs.isEmpty()) {
+            jdbcTemplate.batchUpdate("insert into film_genre (film_id, genre_id) values(?, ?)", genreArgs);
+        }
+        return createdFilms;
+    }
+
+    @Override
+    @Transactional
+    public int addUsers(List<User> users) {
+        String sql = "insert into users (email, login, name, birthday) select ?, ?, ?, ? " +
+                "where not exists(select 1 from users where email = ? or login = ?)";
+        List<Object[]> batchArgs = new ArrayList<>(users.size());
+        for (User user : users) {
+            batchArgs.add(new Object[]{user.getEmail(), user.getLogin(), user.getName(),
+                    Date.valueOf(user.getBirthday()), user.getEmail(), user.getLogin()});
+        }
+        return countUpdated(jdbcTemplate.batchUpdate(sql, batchArgs));
+    }
+
+    @Override
+    @Transactional
+    public int addLikes(List<int[]> likes) {
+        String sql = "insert into likes (film_id, user_id) select ?, ? " +
+                "where exists(select 1 from films where film_id = ?) " +
+                "and exists(select 1 from users where user_id = ?) " +
+                "and not exists(select 1 from likes where film_id = ? and user_id = ?)";
+        List<Object[]> batchArgs = new ArrayList<>(likes.size());
+        for (int[] like : likes) {
+            batchArgs.add(new Object[]{like[0], like[1], like[0], like[1], like[0], like[1]});
+        }
+        int[] updatedRows = jdbcTemplate.batchUpdate(sql, batchArgs);
+        Set<Integer> likedFilmIds = new HashSet<>();
+        for (int i = 0; i < updatedRows.length; i++) {
+            if (updatedRows[i] > 0) {
+                likedFilmIds.add(likes.get(i)[0]);
+            }
+        }
+        if (!likedFilmIds.isEmpty()) {
+            List<Object[]> countArgs = new ArrayList<>(likedFilmIds.size());
+            for (Integer filmId : likedFilmIds) {
+                countArgs.add(new Object[]{filmId, filmId});
+            }
+            jdbcTemplate.batchUpdate("update films set likes_count = " +
+                    "(select count(*) from likes where film_id = ?) where film_id = ?", countArgs);
+        }
+        return countUpdated(updatedRows);
+    }
+
+    @Override
+    @Transactional
+    public int addFriendships(List<int[]> friendships) {
+        String sql = "insert into friendship (user_id, friend_id, status) " +
+                "select ?, ?, exists(select 1 from friendship where user_id = ? and friend_id = ?) " +
+                "where ? <> ? and exists(select 1 from users where user_id = ?) " +
+                "and exists(select 1 from users where user_id = ?) " +
+                "and not exists(select 1 from friendship where user_id = ? and friend_id = ?)";
+        List<Object[]> batchArgs = new ArrayList<>(friendships.size());
+        for (int[] friendship : friendships) {
+            int userId = friendship[0];
+            int friendId = friendship[1];
+            batchArgs.add(new Object[]{userId, friendId, friendId, userId, userId, friendId, userId, friendId,
+                    userId, friendId});
+        }
+        int[] updatedRows = jdbcTemplate.batchUpdate(sql, batchArgs);
+        List<Object[]> confirmArgs = new ArrayList<>();
+        for (int i = 0; i < updatedRows.length; i++) {
+            if (updatedRows[i] > 0) {
+                confirmArgs.add(new Object[]{friendships.get(i)[1], friendships.get(i)[0]});
+            }
+        }
+        if (!confirmArgs.isEmpty()) {
+            jdbcTemplate.batchUpdate("update friendship set status = true where user_id = ? and friend_id = ?",
+                    confirmArgs);
+        }
+        return countUpdated(updatedRows);
+    }
+
+    private Map<List<Object>, Integer> findFilmIds(Collection<Film> films) {
+        Map<List<Object>, Integer> filmIdsByKey = new HashMap<>();
+        if (films.isEmpty()) {
+            return filmIdsByKey;
+        }
+        String sql = "select film_id, name, release_date, duration from films where name = any(?)";
+        jdbcTemplate.query(connection -> {
+            PreparedStatement ps = connection.prepareStatement(sql);
+            ps.setArray(1, connection.createArrayOf("VARCHAR", films.stream().map(Film::getName).toArray()));
+            return ps;
+        }, rs -> {
+            filmIdsByKey.put(filmKey(rs.getString("name"), rs.getDate("release_date").toLocalDate(),
+                    rs.getInt("duration")), rs.getInt("film_id"));
+        });
+        return filmIdsByKey;
+    }
+
+    private static List<Object> filmKey(String name, LocalDate releaseDate, int duration) {
+        return List.of(name, releaseDate, duration);
+    }
+
+    private int countUpdated(int[] updatedRows) {
+        int count = 0;
+        for (int rows : updatedRows) {
+            if (rows > 0) {
+                count++;
+            }
+        }
+        return count;
+    }
+}
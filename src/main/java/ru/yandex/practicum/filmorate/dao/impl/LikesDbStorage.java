@@ -5,12 +5,13 @@ import lombok.extern.slf4j.Slf4j;
 import org.springframework.dao.DataAccessException;
 import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 import ru.yandex.practicum.filmorate.dao.LikesDao;
 import ru.yandex.practicum.filmorate.exception.ValidationException;
 import ru.yandex.practicum.filmorate.model.Film;
-import ru.yandex.practicum.filmorate.model.Mpa;
 
-import java.util.List;
+import java.sql.PreparedStatement;
+import java.util.*;
 
 @Repository
 @RequiredArgsConstructor
@@ -18,8 +19,10 @@ import java.util.List;
 public class LikesDbStorage implements LikesDao {
 
     private final JdbcTemplate jdbcTemplate;
+    private final ReferenceDataRegistry referenceData;
 
     @Override
+    @Transactional
     public void addLikeToFilm(int filmId, int userId) {
         try {
             String sql = "insert into likes (film_id, user_id) values(?, ?)";
@@ -28,12 +31,49 @@ public class LikesDbStorage implements LikesDao {
             log.error("Пользователь id = {} уже поставил лайк фильму id = {}", userId, filmId);
             throw new ValidationException("Пользователь id = " + userId + " уже поставил лайк фильму id = " + filmId);
         }
+        jdbcTemplate.update("update films set likes_count = likes_count + 1 where film_id = ?", filmId);
     }
 
     @Override
-    public void deleteLikeFromFilm(int filmId, int userId) {
+    @Transactional
+    public boolean deleteLikeFromFilm(int filmId, int userId) {
         String sql = "delete from likes where (film_id = ? and user_id = ?)";
-        jdbcTemplate.update(sql, filmId, userId);
+        if (jdbcTemplate.update(sql, filmId, userId) > 0) {
+            jdbcTemplate.update("update films set likes_count = likes_count - 1 where film_id = ?", filmId);
+            return true;
+        }
+        return false;
+    }
+
+    @Override
+    @Transactional
+    public void saveLikeChanges(List<int[]> addedLikes, List<int[]> deletedLikes) {
+        Set<Integer> changedFilmIds = new HashSet<>();
+        if (!addedLikes.isEmpty()) {
+            List<Object[]> batchArgs = new ArrayList<>(addedLikes.size());
+            for (int[] like : addedLikes) {
+                batchArgs.add(new Object[]{like[0], like[1], like[0], like[1]});
+                changedFilmIds.add(like[0]);
+            }
+            jdbcTemplate.batchUpdate("insert into likes (film_id, user_id) select ?, ? " +
+                    "where not exists(select 1 from likes where film_id = ? and user_id = ?)", batchArgs);
+        }
+        if (!deletedLikes.isEmpty()) {
+            List<Object[]> batchArgs = new ArrayList<>(deletedLikes.size());
+            for (int[] like : deletedLikes) {
+                batchArgs.add(new Object[]{like[0], like[1]});
+                changedFilmIds.add(like[0]);
+            }
+            jdbcTemplate.batchUpdate("delete from likes where film_id = ? and user_id = ?", batchArgs);
+        }
+        if (!changedFilmIds.isEmpty()) {
+            List<Object[]> countArgs = new ArrayList<>(changedFilmIds.size());
+            for (Integer filmId : changedFilmIds) {
+                countArgs.add(new Object[]{filmId, filmId});
+            }
+            jdbcTemplate.batchUpdate("update films set likes_count = " +
+                    "(select count(*) from likes where film_id = ?) where film_id = ?", countArgs);
+        }
     }
 
     @Override
@@ -42,17 +82,47 @@ public class LikesDbStorage implements LikesDao {
         return jdbcTemplate.query(sql, (rs, rowNun) -> rs.getInt("user_id"), filmId);
     }
 
+    @Override
+    public Map<Integer, List<Integer>> getLikesByFilmIds(Collection<Integer> filmIds) {
+        Map<Integer, List<Integer>> likesByFilmId = new HashMap<>();
+        if (filmIds.isEmpty()) {
+            return likesByFilmId;
+        }
+        String sql = "select film_id, user_id from likes where film_id = any(?)";
+        jdbcTemplate.query(connection -> {
+            PreparedStatement ps = connection.prepareStatement(sql);
+            ps.setArray(1, connection.createArrayOf("INTEGER", filmIds.toArray()));
+            return ps;
+        }, rs -> {
+            likesByFilmId.computeIfAbsent(rs.getInt("film_id"), id -> new ArrayList<>()).add(rs.getInt("user_id"));
+        });
+        return likesByFilmId;
+    }
+
     @Override
     public List<Film> getPopularFilm(int count) {
-        String sql = "select f.*, m.name as mpa_name from films as f join mpa as m on f.mpa_id = m.mpa_id" +
-                " left join (select film_id, count(user_id) as likes_count from likes group by film_id order by " +
-                "likes_count) as popular on f.film_id = popular.film_id order by popular.likes_count desc limit ?";
+        String sql = "select * from films order by likes_count desc, film_id limit ?";
         return jdbcTemplate.query(sql, ((rs, rowNum) -> Film.builder()
                 .id(rs.getInt("film_id")).name(rs.getString("name"))
                 .description(rs.getString("description"))
                 .releaseDate(rs.getDate("release_date").toLocalDate())
                 .duration(rs.getInt("duration"))
-                .mpa(Mpa.builder().id(rs.getInt("mpa_id"))
-                        .name(rs.getString("mpa.name")).build()).build()), count);
+                .mpa(referenceData.getMpa(rs.getInt("mpa_id"))).build()), count);
+    }
+
+    @Override
+    public Map<Integer, Integer> getLikesCountByFilmId() {
+        Map<Integer, Integer> likesCountByFilmId = new HashMap<>();
+        jdbcTemplate.query("select film_id, likes_count from films", rs -> {
+            likesCountByFilmId.put(rs.getInt("film_id"), rs.getInt("likes_count"));
+        });
+        return likesCountByFilmId;
+    }
+
+    @Override
+    public int recalculateLikesCount() {
+        String sql = "update films as f set likes_count = (select count(*) from likes as l where l.film_id = f.film_id) " +
+                "where likes_count <> (select count(*) from likes as l where l.film_id = f.film_id)";
+        return jdbcTemplate.update(sql);
     }
 }
@@ -0,0 +1,152 @@
+package ru.yandex.practicum.filmorate.dao.impl;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import javax.annotation.PostConstruct;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+import static ru.yandex.practicum.filmorate.dao.impl.SortedIntArrays.EMPTY;
+
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class LikesMatrix {
+
+    private final JdbcTemplate jdbcTemplate;
+    private final ReadWriteLock reloadLock = new ReentrantReadWriteLock();
+    private volatile Matrix matrix = new Matrix(new ConcurrentHashMap<>(), new ConcurrentHashMap<>());
+
+    @PostConstruct
+    public void reload() {
+        reloadLock.writeLock().lock();
+        try {
+            SortedIntArrays.Loader byUser = new SortedIntArrays.Loader("user_id", "film_id");
+            jdbcTemplate.query("select user_id, film_id from likes order by user_id, film_id", byUser);
+            SortedIntArrays.Loader byFilm = new SortedIntArrays.Loader("film_id", "user_id");
+            jdbcTemplate.query("select film_id, user_id from likes order by film_id, user_id", byFilm);
+            matrix = new Matrix(byUser.finish(), byFilm.finish());
+            log.info("Матрица лайков загружена, пользователей: {}, фильмов: {}, лайков: {}",
+                    matrix.filmsByUserId.size(), matrix.usersByFilmId.size(), byUser.getRows());
+        } finally {
+            reloadLock.writeLock().unlock();
+        }
+    }
+
+    public boolean addLike(int filmId, int userId) {
+        reloadLock.readLock().lock();
+        try {
+            Matrix current = matrix;
+            boolean[] added = new boolean[1];
+            current.filmsByUserId.compute(userId, (id, films) -> {
+                int[] updated = SortedIntArrays.insert(films == null ? EMPTY : films, filmId);
+                added[0] = updated != films;
+                return updated;
+            });
+            current.usersByFilmId.compute(filmId, (id, users) ->
+                    SortedIntArrays.insert(users == null ? EMPTY : users, userId));
+            return added[0];
+        } finally {
+            reloadLock.readLock().unlock();
+        }
+    }
+
+    public boolean deleteLike(int filmId, int userId) {
+        reloadLock.readLock().lock();
+        try {
+            Matrix current = matrix;
+            boolean[] deleted = new boolean[1];
+            current.filmsByUserId.computeIfPresent(userId, (id, films) -> {
+                int[] updated = SortedIntArrays.remove(films, filmId);
+                deleted[0] = updated != films;
+                return updated;
+            });
+            current.usersByFilmId.computeIfPresent(filmId, (id, users) -> SortedIntArrays.remove(users, userId));
+            return deleted[0];
+        } finally {
+            reloadLock.readLock().unlock();
+        }
+    }
+
+    public int[] recommendFilms(int userId, int limit, int neighbours, int maxUsersPerFilm) {
+        Matrix current = matrix;
+        int[] likedFilms = current.filmsByUserId.getOrDefault(userId, EMPTY);
+        if (likedFilms.length == 0) {
+            return EMPTY;
+        }
+        BitSet likedByUser = new BitSet();
+        BitSet candidates = new BitSet();
+        for (int filmId : likedFilms) {
+            likedByUser.set(filmId);
+            int[] users = current.usersByFilmId.getOrDefault(filmId, EMPTY);
+            for (int i = 0; i < users.length && i < maxUsersPerFilm; i++) {
+                candidates.set(users[i]);
+            }
+        }
+        candidates.clear(userId);
+        long[] similarities = Arrays.stream(candidates.stream().toArray()).parallel()
+                .mapToLong(candidate -> PackedTopK.pack(
+                        overlap(current.filmsByUserId.getOrDefault(candidate, EMPTY), likedByUser), candidate))
+                .toArray();
+        long[] nearest = PackedTopK.top(similarities, similarities.length, neighbours);
+        long[] weightedFilms = new long[64];
+        int size = 0;
+        for (long neighbour : nearest) {
+            int weight = PackedTopK.unpackScore(neighbour);
+            for (int filmId : current.filmsByUserId.getOrDefault(PackedTopK.unpackId(neighbour), EMPTY)) {
+                if (!likedByUser.get(filmId)) {
+                    if (size == weightedFilms.length) {
+                        weightedFilms = Arrays.copyOf(weightedFilms, size * 2);
+                    }
+                    weightedFilms[size++] = (long) filmId << 32 | weight;
+                }
+            }
+        }
+        Arrays.sort(weightedFilms, 0, size);
+        long[] scored = new long[size];
+        int scoredSize = 0;
+        int i = 0;
+        while (i < size) {
+            int filmId = (int) (weightedFilms[i] >>> 32);
+            int score = 0;
+            while (i < size && (int) (weightedFilms[i] >>> 32) == filmId) {
+                score += (int) weightedFilms[i];
+                i++;
+            }
+            scored[scoredSize++] = PackedTopK.pack(score, filmId);
+        }
+        long[] top = PackedTopK.top(scored, scoredSize, limit);
+        int[] recommendations = new int[top.length];
+        for (int k = 0; k < top.length; k++) {
+            recommendations[k] = PackedTopK.unpackId(top[k]);
+        }
+        return recommendations;
+    }
+
+    private static int overlap(int[] films, BitSet likedByUser) {
+        int overlap = 0;
+        for (int filmId : films) {
+            if (likedByUser.get(filmId)) {
+                overlap++;
+            }
+        }
+        return overlap;
+    }
+
+    private static class Matrix {
+        private final Map<Integer, int[]> filmsByUserId;
+        private final Map<Integer, int[]> usersByFilmId;
+
+        private Matrix(Map<Integer, int[]> filmsByUserId, Map<Integer, int[]> usersByFilmId) {
+            this.filmsByUserId = filmsByUserId;
+            this.usersByFilmId = usersByFilmId;
+        }
+    }
+}
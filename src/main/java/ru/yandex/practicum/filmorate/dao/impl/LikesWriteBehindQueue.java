@@ -0,0 +1,123 @@
+package ru.yandex.practicum.filmorate.dao.impl;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import ru.yandex.practicum.filmorate.dao.LikesDao;
+import ru.yandex.practicum.filmorate.storage.film.EvictableFilmStorage;
+
+import javax.annotation.PreDestroy;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+
+@Component
+@Slf4j
+public class LikesWriteBehindQueue {
+
+    private final LikesDao likesDao;
+    private final EvictableFilmStorage filmStorage;
+    private final VersionRegistry versionRegistry;
+    private final boolean enabled;
+    private final int capacity;
+    private final int batchSize;
+    private final Map<Long, Boolean> pending = new ConcurrentHashMap<>();
+    private final Lock flushLock = new ReentrantLock();
+
+    public LikesWriteBehindQueue(LikesDao likesDao, @Qualifier("cachingFilmStorage") EvictableFilmStorage filmStorage,
+                                 VersionRegistry versionRegistry,
+                                 @Value("${filmorate.likes.write-behind.enabled}") boolean enabled,
+                                 @Value("${filmorate.likes.write-behind.capacity}") int capacity,
+                                 @Value("${filmorate.likes.write-behind.batch-size}") int batchSize) {
+        this.likesDao = likesDao;
+        this.filmStorage = filmStorage;
+        this.versionRegistry = versionRegistry;
+        this.enabled = enabled;
+        this.capacity = capacity;
+        this.batchSize = batchSize;
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public int getPendingCount() {
+        return pending.size();
+    }
+
+    public void addLike(int filmId, int userId) {
+        enqueue(filmId, userId, true);
+    }
+
+    public void deleteLike(int filmId, int userId) {
+        enqueue(filmId, userId, false);
+    }
+
+    @Scheduled(fixedDelayString = "${filmorate.likes.write-behind.flush-interval-ms}")
+    public void flush() {
+        if (pending.isEmpty()) {
+            return;
+        }
+        flushLock.lock();
+        try {
+            List<int[]> addedLikes = new ArrayList<>(batchSize);
+            List<int[]> deletedLikes = new ArrayList<>(batchSize);
+            for (Map.Entry<Long, Boolean> entry : pending.entrySet()) {
+                if (pending.remove(entry.getKey(), entry.getValue())) {
+                    int[] like = {(int) (entry.getKey() >>> 32), (int) (long) entry.getKey()};
+                    (entry.getValue() ? addedLikes : deletedLikes).add(like);
+                    if (addedLikes.size() + deletedLikes.size() == batchSize) {
+                        save(addedLikes, deletedLikes);
+                    }
+                }
+            }
+            save(addedLikes, deletedLikes);
+        } finally {
+            flushLock.unlock();
+        }
+    }
+
+    @PreDestroy
+    public void flushOnShutdown() {
+        log.info("Сохранение {} отложенных изменений лайков перед остановкой", pending.size());
+        flush();
+    }
+
+    private void enqueue(int filmId, int userId, boolean liked) {
+        while (pending.size() >= capacity) {
+            log.warn("Очередь лайков заполнена ({}), запись выполняется в потоке запроса", capacity);
+            flush();
+        }
+        pending.put(key(filmId, userId), liked);
+    }
+
+    private void save(List<int[]> addedLikes, List<int[]> deletedLikes) {
+        if (addedLikes.isEmpty() && deletedLikes.isEmpty()) {
+            return;
+        }
+        try {
+            likesDao.saveLikeChanges(addedLikes, deletedLikes);
+            log.debug("Сохранено лайков: {}, удалено лайков: {}", addedLikes.size(), deletedLikes.size());
+        } catch (RuntimeException e) {
+            log.error("Не удалось сохранить пачку лайков, изменения будут повторены", e);
+            addedLikes.forEach(like -> pending.putIfAbsent(key(like[0], like[1]), true));
+            deletedLikes.forEach(like -> pending.putIfAbsent(key(like[0], like[1]), false));
+            throw e;
+        } finally {
+            Set<Integer> filmIds = new HashSet<>();
+            addedLikes.forEach(like -> filmIds.add(like[0]));
+            deletedLikes.forEach(like -> filmIds.add(like[0]));
+            filmIds.forEach(filmStorage::evict);
+            filmIds.forEach(versionRegistry::filmChanged);
+            addedLikes.clear();
+            deletedLikes.clear();
+        }
+    }
+
+    private static long key(int filmId, int userId) {
+        return (long) filmId << 32 | (userId & 0xFFFFFFFFL);
+    }
+}
@@ -0,0 +1,119 @@
+package ru.yandex.practicum.filmorate.dao.impl;
+
+import java.util.Arrays;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+public final class PackedTopK {
+
+    private static final int PARALLEL_THRESHOLD = 1 << 16;
+
+    private PackedTopK() {
+    }
+
+    public static long pack(int score, int id) {
+        return (long) score << 32 | (Integer.MAX_VALUE - id);
+    }
+
+    public static int unpackId(long packed) {
+        return Integer.MAX_VALUE - (int) packed;
+    }
+
+    public static int unpackScore(long packed) {
+        return (int) (packed >>> 32);
+    }
+
+    public static long[] top(long[] values, int length, int k) {
+        return top(values, 0, length, k);
+    }
+
+    public static long[] topParallel(long[] values, int length, int k) {
+        if (length < 2 * PARALLEL_THRESHOLD) {
+            return top(values, 0, length, k);
+        }
+        return ForkJoinPool.commonPool().invoke(new TopTask(values, 0, length, k));
+    }
+
+    private static long[] top(long[] values, int from, int to, int k) {
+        long[] heap = new long[Math.max(0, Math.min(k, to - from))];
+        int size = 0;
+        for (int i = from; i < to; i++) {
+            size = offer(heap, size, values[i]);
+        }
+        Arrays.sort(heap, 0, size);
+        for (int i = 0, j = size - 1; i < j; i++, j--) {
+            swap(heap, i, j);
+        }
+        return heap;
+    }
+
+    private static long[] merge(long[] first, long[] second, int k) {
+        long[] merged = new long[Math.min(k, first.length + second.length)];
+        int i = 0;
+        int j = 0;
+        for (int n = 0; n < merged.length; n++) {
+            merged[n] = j == second.length || i < first.length && first[i] > second[j] ? first[i++] : second[j++];
+        }
+        return merged;
+    }
+
+    private static int offer(long[] heap, int size, long key) {
+        if (size < heap.length) {
+            int child = size;
+            heap[child] = key;
+            while (child > 0 && heap[(child - 1) / 2] > heap[child]) {
+                swap(heap, child, (child - 1) / 2);
+                child = (child - 1) / 2;
+            }
+            return size + 1;
+        }
+        if (size > 0 && key > heap[0]) {
+            heap[0] = key;
+            int parent = 0;
+            while (2 * parent + 1 < size) {
+                int child = 2 * parent + 1;
+                if (child + 1 < size && heap[child + 1] < heap[child]) {
+                    child++;
+                }
+                if (heap[parent] <= heap[child]) {
+                    break;
+                }
+                swap(heap, parent, child);
+                parent = child;
+            }
+        }
+        return size;
+    }
+
+    private static void swap(long[] heap, int first, int second) {
+        long value = heap[first];
+        heap[first] = heap[second];
+        heap[second] = value;
+    }
+
+    private static class TopTask extends RecursiveTask<long[]> {
+        private final long[] values;
+        private final int from;
+        private final int to;
+        private final int k;
+
+        private TopTask(long[] values, int from, int to, int k) {
+            this.values = values;
+            this.from = from;
+            this.to = to;
+            this.k = k;
+        }
+
+        @Override
+        protected long[] compute() {
+            if (to - from <= PARALLEL_THRESHOLD) {
+                return top(values, from, to, k);
+            }
+            int middle = (from + to) >>> 1;
+            TopTask left = new TopTask(values, from, middle, k);
+            left.fork();
+            long[] right = new TopTask(values, middle, to, k).compute();
+            return merge(left.join(), right, k);
+        }
+    }
+}
@@ -0,0 +1,140 @@
+package ru.yandex.practicum.filmorate.dao.impl;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import ru.yandex.practicum.filmorate.dao.LikesDao;
+
+import javax.annotation.PostConstruct;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class PopularFilmsLeaderboard {
+
+    private static final Comparator<Rank> RANK_ORDER = Comparator.comparingInt((Rank rank) -> rank.likes).reversed()
+            .thenComparingInt(rank -> rank.filmId);
+
+    private final LikesDao likesDao;
+    private final ReadWriteLock reloadLock = new ReentrantReadWriteLock();
+    private volatile Board board = new Board();
+
+    @PostConstruct
+    public void reload() {
+        reloadLock.writeLock().lock();
+        try {
+            Map<Integer, Integer> likesCountByFilmId = likesDao.getLikesCountByFilmId();
+            Board loaded = new Board();
+            for (Map.Entry<Integer, Integer> entry : likesCountByFilmId.entrySet()) {
+                Rank rank = new Rank(entry.getKey(), entry.getValue());
+                loaded.ranks.put(rank.filmId, rank);
+                loaded.ranking.add(rank);
+            }
+            board = loaded;
+            log.info("Рейтинг популярных фильмов загружен, фильмов: {}", likesCountByFilmId.size());
+        } finally {
+            reloadLock.writeLock().unlock();
+        }
+    }
+
+    public void withUpdate(Runnable update) {
+        reloadLock.readLock().lock();
+        try {
+            update.run();
+        } finally {
+            reloadLock.readLock().unlock();
+        }
+    }
+
+    public void exclusively(Runnable action) {
+        reloadLock.writeLock().lock();
+        try {
+            action.run();
+        } finally {
+            reloadLock.writeLock().unlock();
+        }
+    }
+
+    public List<Integer> getTopFilmIds(int count) {
+        List<Integer> filmIds = new ArrayList<>(count);
+        Set<Integer> seen = new HashSet<>();
+        Iterator<Rank> iterator = board.ranking.iterator();
+        while (filmIds.size() < count && iterator.hasNext()) {
+            Rank rank = iterator.next();
+            if (seen.add(rank.filmId)) {
+                filmIds.add(rank.filmId);
+            }
+        }
+        return filmIds;
+    }
+
+    public void addFilm(int filmId) {
+        changeLikes(filmId, 0);
+    }
+
+    public void addLike(int filmId) {
+        changeLikes(filmId, 1);
+    }
+
+    public void deleteLike(int filmId) {
+        changeLikes(filmId, -1);
+    }
+
+    public int verify(Map<Integer, Integer> likesCountByFilmId) {
+        Map<Integer, Rank> ranks = board.ranks;
+        int mismatches = 0;
+        for (Map.Entry<Integer, Integer> entry : likesCountByFilmId.entrySet()) {
+            Rank rank = ranks.get(entry.getKey());
+            if (rank == null || rank.likes != entry.getValue()) {
+                log.warn("Рейтинг фильма id={} расходится с БД: {} вместо {}", entry.getKey(),
+                        rank == null ? null : rank.likes, entry.getValue());
+                mismatches++;
+            }
+        }
+        if (ranks.size() != likesCountByFilmId.size()) {
+            log.warn("В рейтинге {} фильмов, в БД {}", ranks.size(), likesCountByFilmId.size());
+            mismatches++;
+        }
+        return mismatches;
+    }
+
+    private void changeLikes(int filmId, int delta) {
+        reloadLock.readLock().lock();
+        try {
+            Board current = board;
+            current.ranks.compute(filmId, (id, old) -> {
+                if (old != null && delta == 0) {
+                    return old;
+                }
+                Rank updated = new Rank(id, old == null ? delta : old.likes + delta);
+                current.ranking.add(updated);
+                if (old != null) {
+                    current.ranking.remove(old);
+                }
+                return updated;
+            });
+        } finally {
+            reloadLock.readLock().unlock();
+        }
+    }
+
+    private static class Board {
+        private final Map<Integer, Rank> ranks = new ConcurrentHashMap<>();
+        private final Set<Rank> ranking = new ConcurrentSkipListSet<>(RANK_ORDER);
+    }
+
+    private static class Rank {
+        private final int filmId;
+        private final int likes;
+
+        private Rank(int filmId, int likes) {
+            this.filmId = filmId;
+            this.likes = likes;
+        }
+    }
+}
@@ -0,0 +1,77 @@
+package ru.yandex.practicum.filmorate.dao.impl;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import ru.yandex.practicum.filmorate.model.Genre;
+import ru.yandex.practicum.filmorate.model.Mpa;
+
+import javax.annotation.PostConstruct;
+import java.util.Collections;
+import java.util.List;
+
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class ReferenceDataRegistry {
+
+    private final JdbcTemplate jdbcTemplate;
+    private volatile Dictionary dictionary = new Dictionary(Collections.emptyList(), Collections.emptyList());
+
+    @PostConstruct
+    public synchronized void reload() {
+        List<Genre> genres = jdbcTemplate.query("select genre_id, name from genres order by genre_id",
+                (rs, rowNum) -> Genre.builder().id(rs.getInt("genre_id")).name(rs.getString("name")).build());
+        List<Mpa> mpa = jdbcTemplate.query("select mpa_id, name from mpa order by mpa_id",
+                (rs, rowNum) -> Mpa.builder().id(rs.getInt("mpa_id")).name(rs.getString("name")).build());
+        dictionary = new Dictionary(genres, mpa);
+        log.info("Справочники загружены, жанров: {}, рейтингов Mpa: {}", genres.size(), mpa.size());
+    }
+
+    public List<Genre> getAllGenres() {
+        return dictionary.genres;
+    }
+
+    public Genre getGenre(int genreId) {
+        Genre[] genresById = dictionary.genresById;
+        return genreId > 0 && genreId < genresById.length ? genresById[genreId] : null;
+    }
+
+    public boolean isGenreKnown(int genreId) {
+        return getGenre(genreId) != null;
+    }
+
+    public List<Mpa> getAllMpa() {
+        return dictionary.mpa;
+    }
+
+    public Mpa getMpa(int mpaId) {
+        Mpa[] mpaById = dictionary.mpaById;
+        return mpaId > 0 && mpaId < mpaById.length ? mpaById[mpaId] : null;
+    }
+
+    public boolean isMpaKnown(int mpaId) {
+        return getMpa(mpaId) != null;
+    }
+
+    private static class Dictionary {
+        private final List<Genre> genres;
+        private final Genre[] genresById;
+        private final List<Mpa> mpa;
+        private final Mpa[] mpaById;
+
+        private Dictionary(List<Genre> genres, List<Mpa> mpa) {
+            this.genres = Collections.unmodifiableList(genres);
+            this.mpa = Collections.unmodifiableList(mpa);
+            genresById = new Genre[genres.isEmpty() ? 0 : genres.get(genres.size() - 1).getId() + 1];
+            for (Genre genre : genres) {
+                genresById[genre.getId()] = genre;
+            }
+            mpaById = new Mpa[mpa.isEmpty() ? 0 : mpa.get(mpa.size() - 1).getId() + 1];
+            for (Mpa rating : mpa) {
+                mpaById[rating.getId()] = rating;
+            }
+        }
+    }
+}
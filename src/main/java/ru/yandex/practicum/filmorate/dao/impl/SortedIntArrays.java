@@ -0,0 +1,112 @@
+package ru.yandex.practicum.filmorate.dao.impl;
+
+import org.springframework.jdbc.core.RowCallbackHandler;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+final class SortedIntArrays {
+
+    static final int[] EMPTY = new int[0];
+
+    private SortedIntArrays() {
+    }
+
+    static boolean contains(int[] values, int value) {
+        return Arrays.binarySearch(values, value) >= 0;
+    }
+
+    static int[] insert(int[] values, int value) {
+        int index = Arrays.binarySearch(values, value);
+        if (index >= 0) {
+            return values;
+        }
+        int position = -index - 1;
+        int[] updated = new int[values.length + 1];
+        System.arraycopy(values, 0, updated, 0, position);
+        updated[position] = value;
+        System.arraycopy(values, position, updated, position + 1, values.length - position);
+        return updated;
+    }
+
+    static int[] remove(int[] values, int value) {
+        int index = Arrays.binarySearch(values, value);
+        if (index < 0) {
+            return values;
+        }
+        if (values.length == 1) {
+            return null;
+        }
+        int[] updated = new int[values.length - 1];
+        System.arraycopy(values, 0, updated, 0, index);
+        System.arraycopy(values, index + 1, updated, index, values.length - index - 1);
+        return updated;
+    }
+
+    static int[] intersect(int[] first, int[] second) {
+        int[] common = new int[Math.min(first.length, second.length)];
+        int size = 0;
+        int i = 0;
+        int j = 0;
+        while (i < first.length && j < second.length) {
+            if (first[i] < second[j]) {
+                i++;
+            } else if (first[i] > second[j]) {
+                j++;
+            } else {
+                common[size++] = first[i];
+                i++;
+                j++;
+            }
+        }
+        return size == common.length ? common : Arrays.copyOf(common, size);
+    }
+
+    static class Loader implements RowCallbackHandler {
+        private final String keyColumn;
+        private final String valueColumn;
+        private final Map<Integer, int[]> valuesByKey = new ConcurrentHashMap<>();
+        private int[] values = new int[16];
+        private int size;
+        private int key;
+        private long rows;
+
+        Loader(String keyColumn, String valueColumn) {
+            this.keyColumn = keyColumn;
+            this.valueColumn = valueColumn;
+        }
+
+        @Override
+        public void processRow(ResultSet rs) throws SQLException {
+            int rowKey = rs.getInt(keyColumn);
+            if (rowKey != key) {
+                flush();
+                key = rowKey;
+            }
+            if (size == values.length) {
+                values = Arrays.copyOf(values, size * 2);
+            }
+            values[size++] = rs.getInt(valueColumn);
+            rows++;
+        }
+
+        long getRows() {
+            return rows;
+        }
+
+        Map<Integer, int[]> finish() {
+            flush();
+            return valuesByKey;
+        }
+
+        private void flush() {
+            if (size > 0) {
+                valuesByKey.put(key, Arrays.copyOf(values, size));
+                size = 0;
+            }
+        }
+    }
+}
@@ -0,0 +1,196 @@
+package ru.yandex.practicum.filmorate.dao.impl;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import ru.yandex.practicum.filmorate.model.GeneratorSettings;
+import ru.yandex.practicum.filmorate.model.Genre;
+import ru.yandex.practicum.filmorate.model.Mpa;
+
+import java.sql.Date;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.SplittableRandom;
+
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class SyntheticDataGenerator {
+
+    private static final String[] NAMES = {"Анна", "Иван", "Мария", "Петр", "Елена", "Олег", "Ольга", "Сергей",
+            "Наталья", "Дмитрий"};
+    private static final LocalDate FIRST_RELEASE = LocalDate.of(1900, 1, 1);
+    private static final LocalDate LAST_RELEASE = LocalDate.of(2020, 1, 1);
+    private static final LocalDate FIRST_BIRTHDAY = LocalDate.of(1950, 1, 1);
+    private static final int MAX_GENRES_PER_FILM = 3;
+    private static final int MAX_COUNT_TO_MEAN_RATIO = 100;
+    private static final int MAX_ATTEMPTS_PER_ROW = 20;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final ReferenceDataRegistry referenceData;
+
+    public void generate(GeneratorSettings settings) {
+        SplittableRandom random = new SplittableRandom(settings.getSeed());
+        log.info("Генерация данных: {}", settings);
+        int firstFilmId = nextId("films", "film_id");
+        int firstUserId = nextId("users", "user_id");
+        addFilms(settings, random, firstFilmId);
+        addUsers(settings, random, firstUserId);
+        addLikes(settings, random, firstFilmId, firstUserId);
+        addFriendships(settings, random, firstUserId);
+        log.info("Генерация данных завершена");
+    }
+
+    private void addFilms(GeneratorSettings settings, SplittableRandom random, int firstFilmId) {
+        List<Mpa> mpa = referenceData.getAllMpa();
+        List<Genre> genres = referenceData.getAllGenres();
+        Batch films = new Batch("insert into films (film_id, name, description, release_date, duration, mpa_id)" +
+                " values (?, ?, ?, ?, ?, ?)", settings.getBatchSize());
+        Batch filmGenres = new Batch("insert into film_genre (film_id, genre_id) values (?, ?)",
+                settings.getBatchSize(), films);
+        int releaseDays = (int) (LAST_RELEASE.toEpochDay() - FIRST_RELEASE.toEpochDay());
+        for (int i = 0; i < settings.getFilms(); i++) {
+            int filmId = firstFilmId + i;
+            films.add(filmId, "Film " + filmId, "Синтетический фильм " + filmId,
+                    Date.valueOf(FIRST_RELEASE.plusDays(random.nextInt(releaseDays))), 60 + random.nextInt(150),
+                    mpa.get(random.nextInt(mpa.size())).getId());
+            int genreCount = random.nextInt(Math.min(MAX_GENRES_PER_FILM, genres.size()) + 1);
+            Set<Integer> genreIds = new HashSet<>();
+            while (genreIds.size() < genreCount) {
+                genreIds.add(genres.get(random.nextInt(genres.size())).getId());
+            }
+            for (Integer genreId : genreIds) {
+                filmGenres.add(filmId, genreId);
+            }
+        }
+        filmGenres.flush();
+        restartIdentity("films", "film_id");
+        log.info("Сгенерировано фильмов: {}, жанров фильмов: {}", films.rows, filmGenres.rows);
+    }
+
+    private void addUsers(GeneratorSettings settings, SplittableRandom random, int firstUserId) {
+        Batch users = new Batch("insert into users (user_id, email, login, name, birthday) values (?, ?, ?, ?, ?)",
+                settings.getBatchSize());
+        for (int i = 0; i < settings.getUsers(); i++) {
+            int userId = firstUserId + i;
+            users.add(userId, "user" + userId + "@filmorate.test", "user" + userId,
+                    NAMES[random.nextInt(NAMES.length)], Date.valueOf(FIRST_BIRTHDAY.plusDays(random.nextInt(21900))));
+        }
+        users.flush();
+        restartIdentity("users", "user_id");
+        log.info("Сгенерировано пользователей: {}", users.rows);
+    }
+
+    private void addLikes(GeneratorSettings settings, SplittableRandom random, int firstFilmId, int firstUserId) {
+        if (settings.getFilms() == 0) {
+            return;
+        }
+        ZipfDistribution popularity = new ZipfDistribution(settings.getFilms(), settings.getPopularityExponent());
+        Batch likes = new Batch("insert into likes (film_id, user_id) values (?, ?)", settings.getBatchSize());
+        int maxLikes = maxCount(settings.getLikesPerUser(), settings.getFilms());
+        Set<Integer> likedFilms = new HashSet<>();
+        for (int i = 0; i < settings.getUsers(); i++) {
+            int userId = firstUserId + i;
+            int count = ZipfDistribution.sampleCount(random, settings.getLikesPerUser(), maxLikes);
+            sampleDistinct(popularity, random, count, likedFilms);
+            for (Integer rank : likedFilms) {
+                likes.add(firstFilmId + rank, userId);
+            }
+        }
+        likes.flush();
+        jdbcTemplate.update("update films f set likes_count = (select count(*) from likes l " +
+                "where l.film_id = f.film_id) where f.film_id >= ?", firstFilmId);
+        log.info("Сгенерировано лайков: {}", likes.rows);
+    }
+
+    private void addFriendships(GeneratorSettings settings, SplittableRandom random, int firstUserId) {
+        if (settings.getUsers() < 2) {
+            return;
+        }
+        ZipfDistribution popularity = new ZipfDistribution(settings.getUsers(), settings.getPopularityExponent());
+        Batch friendships = new Batch("insert into friendship (user_id, friend_id, status) values (?, ?, false)",
+                settings.getBatchSize());
+        int maxFriends = maxCount(settings.getFriendsPerUser(), settings.getUsers() - 1);
+        Set<Integer> friends = new HashSet<>();
+        for (int i = 0; i < settings.getUsers(); i++) {
+            int count = ZipfDistribution.sampleCount(random, settings.getFriendsPerUser(), maxFriends);
+            sampleDistinct(popularity, random, count + 1, friends);
+            friends.remove(i);
+            int added = 0;
+            for (Integer rank : friends) {
+                if (added++ == count) {
+                    break;
+                }
+                friendships.add(firstUserId + i, firstUserId + rank);
+            }
+        }
+        friendships.flush();
+        jdbcTemplate.update("update friendship f set status = true where f.user_id >= ? and exists(select 1 " +
+                "from friendship r where r.user_id = f.friend_id and r.friend_id = f.user_id)", firstUserId);
+        log.info("Сгенерировано заявок в друзья: {}", friendships.rows);
+    }
+
+    private void sampleDistinct(ZipfDistribution distribution, SplittableRandom random, int count,
+                                Set<Integer> sample) {
+        sample.clear();
+        int attempts = count * MAX_ATTEMPTS_PER_ROW;
+        while (sample.size() < count && attempts-- > 0) {
+            sample.add(distribution.sample(random));
+        }
+    }
+
+    private int maxCount(double mean, int available) {
+        return (int) Math.min(available, Math.max(1, mean * MAX_COUNT_TO_MEAN_RATIO));
+    }
+
+    private int nextId(String table, String idColumn) {
+        Integer maxId = jdbcTemplate.queryForObject("select max(" + idColumn + ") from " + table, Integer.class);
+        return maxId == null ? 1 : maxId + 1;
+    }
+
+    private void restartIdentity(String table, String idColumn) {
+        jdbcTemplate.execute("alter table " + table + " alter column " + idColumn + " restart with " +
+                nextId(table, idColumn));
+    }
+
+    private class Batch {
+        private final String sql;
+        private final int batchSize;
+        private final Batch parent;
+        private final List<Object[]> args;
+        private long rows;
+
+        private Batch(String sql, int batchSize) {
+            this(sql, batchSize, null);
+        }
+
+        private Batch(String sql, int batchSize, Batch parent) {
+            this.sql = sql;
+            this.batchSize = batchSize;
+            this.parent = parent;
+            this.args = new ArrayList<>(batchSize);
+        }
+
+        private void add(Object... row) {
+            args.add(row);
+            if (args.size() == batchSize) {
+                flush();
+            }
+        }
+
+        private void flush() {
+            if (parent != null) {
+                parent.flush();
+            }
+            if (!args.isEmpty()) {
+                jdbcTemplate.batchUpdate(sql, args);
+                rows += args.size();
+                args.clear();
+            }
+        }
+    }
+}
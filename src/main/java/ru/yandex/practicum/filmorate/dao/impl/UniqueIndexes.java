@@ -0,0 +1,29 @@
+package ru.yandex.practicum.filmorate.dao.impl;
+
+import org.springframework.dao.DuplicateKeyException;
+
+import java.util.Locale;
+
+final class UniqueIndexes {
+
+    static final String FILMS_NAME_RELEASE_DATE_DURATION = "FILMS_NAME_RELEASE_DATE_DURATION_UINDEX";
+    static final String USERS_EMAIL = "USERS_EMAIL_UINDEX";
+    static final String USERS_LOGIN = "USERS_LOGIN_UINDEX";
+
+    private UniqueIndexes() {
+    }
+
+    static boolean isViolated(DuplicateKeyException e, String... indexNames) {
+        String message = e.getMostSpecificCause().getMessage();
+        if (message == null) {
+            return false;
+        }
+        String upperCaseMessage = message.toUpperCase(Locale.ROOT);
+        for (String indexName : indexNames) {
+            if (upperCaseMessage.contains(indexName)) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
@@ -1,19 +1,23 @@
 package ru.yandex.practicum.filmorate.dao.impl;
 
 import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DuplicateKeyException;
 import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.jdbc.support.GeneratedKeyHolder;
 import org.springframework.jdbc.support.KeyHolder;
 import org.springframework.stereotype.Repository;
+import ru.yandex.practicum.filmorate.exception.ValidationException;
 import ru.yandex.practicum.filmorate.model.User;
 import ru.yandex.practicum.filmorate.storage.user.UserStorage;
 
 import java.sql.*;
-import java.util.List;
-import java.util.Objects;
+import java.sql.Date;
+import java.util.*;
 
 @Repository
 @RequiredArgsConstructor
+@Slf4j
 public class UserDbStorage implements UserStorage {
 
     private final JdbcTemplate jdbcTemplate;
@@ -22,14 +26,21 @@ public class UserDbStorage implements UserStorage {
     public User createUser(User user) {
         String sql = "insert into users (email, login, name, birthday) values (?, ?, ?, ?)";
         KeyHolder keyHolder = new GeneratedKeyHolder();
-        jdbcTemplate.update(connection -> {
-            PreparedStatement ps = connection.prepareStatement(sql, Statement.RETURN_GENERATED_KEYS);
-            ps.setString(1, user.getEmail());
-            ps.setString(2, user.getLogin());
-            ps.setString(3, user.getName());
-            ps.setDate(4, Date.valueOf(user.getBirthday()));
-            return ps;
-        }, keyHolder);
+        try {
+            jdbcTemplate.update(connection -> {
+                PreparedStatement ps = connection.prepareStatement(sql, Statement.RETURN_GENERATED_KEYS);
+                ps.setString(1, user.getEmail());
+                ps.setString(2, user.getLogin());
+                ps.setString(3, user.getName());
+                ps.setDate(4, Date.valueOf(user.getBirthday()));
+                return ps;
+            }, keyHolder);
+        } catch (DuplicateKeyException e) {
+            if (UniqueIndexes.isViolated(e, UniqueIndexes.USERS_EMAIL, UniqueIndexes.USERS_LOGIN)) {
+                throw duplicateUserException(user);
+            }
+            throw e;
+        }
         user.setId(Objects.requireNonNull(keyHolder.getKey()).intValue());
         return user;
     }
@@ -37,22 +48,79 @@ public class UserDbStorage implements UserStorage {
     @Override
     public User updateUser(User user) {
         String sql = "update users set email=?, login=?, name=?, birthday=? where user_id=?";
-        jdbcTemplate.update(sql, user.getEmail(), user.getLogin(), user.getName(), user.getBirthday(), user.getId());
+        try {
+            jdbcTemplate.update(sql, user.getEmail(), user.getLogin(), user.getName(), user.getBirthday(),
+                    user.getId());
+        } catch (DuplicateKeyException e) {
+            if (UniqueIndexes.isViolated(e, UniqueIndexes.USERS_EMAIL, UniqueIndexes.USERS_LOGIN)) {
+                throw duplicateUserException(user);
+            }
+            throw e;
+        }
         return user;
     }
 
     @Override
     public List<User> getAllUsers() {
-        String sql = "select * from users";
+        String sql = "select * from users order by user_id";
         return jdbcTemplate.query(sql, (rs, rowNum) -> mapRowToUser(rs));
     }
 
+    @Override
+    public List<User> getUsers(int afterId, int limit) {
+        String sql = "select * from users where user_id > ? order by user_id limit ?";
+        return jdbcTemplate.query(sql, (rs, rowNum) -> mapRowToUser(rs), afterId, limit);
+    }
+
     @Override
     public User getUserById(int userId) {
         String sql = "select * from users where user_id = ?";
         return jdbcTemplate.queryForObject(sql, (rs, rowNum) -> mapRowToUser(rs), userId);
     }
 
+    @Override
+    public List<User> getUsersByIds(List<Integer> userIds) {
+        if (userIds.isEmpty()) {
+            return new ArrayList<>();
+        }
+        String sql = "select * from users where user_id = any(?)";
+        Map<Integer, User> usersById = new HashMap<>();
+        jdbcTemplate.query(connection -> {
+            PreparedStatement ps = connection.prepareStatement(sql);
+            ps.setArray(1, connection.createArrayOf("INTEGER", userIds.toArray()));
+            return ps;
+        }, rs -> {
+            User user = mapRowToUser(rs);
+            usersById.put(user.getId(), user);
+        });
+        List<User> users = new ArrayList<>(usersById.size());
+        for (Integer userId : userIds) {
+            User user = usersById.get(userId);
+            if (user != null) {
+                users.add(user);
+            }
+        }
+        return users;
+    }
+
+    @Override
+    public boolean isEmailUsed(String email, int exceptUserId) {
+        String sql = "select exists(select 1 from users where email = ? and user_id <> ?)";
+        return Boolean.TRUE.equals(jdbcTemplate.queryForObject(sql, Boolean.class, email, exceptUserId));
+    }
+
+    @Override
+    public boolean isLoginUsed(String login, int exceptUserId) {
+        String sql = "select exists(select 1 from users where login = ? and user_id <> ?)";
+        return Boolean.TRUE.equals(jdbcTemplate.queryForObject(sql, Boolean.class, login, exceptUserId));
+    }
+
+    private ValidationException duplicateUserException(User user) {
+        log.error("Пользователь с email = {} или login = {} уже существует", user.getEmail(), user.getLogin());
+        return new ValidationException("Пользователь с email = " + user.getEmail() + " или login = " +
+                user.getLogin() + " уже существует");
+    }
+
     private User mapRowToUser(ResultSet resultSet) throws SQLException {
         return User.builder()
                 .id(resultSet.getInt("user_id"))
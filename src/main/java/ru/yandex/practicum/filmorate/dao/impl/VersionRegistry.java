@@ -0,0 +1,65 @@
+package ru.yandex.practicum.filmorate.dao.impl;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+@Component
+@RequiredArgsConstructor
+public class VersionRegistry {
+
+    private final IdExistenceIndex idExistenceIndex;
+    private final String instance = Long.toString(System.currentTimeMillis(), 36);
+    private final AtomicLong clock = new AtomicLong();
+    private final AtomicLong filmsVersion = new AtomicLong();
+    private final Map<Integer, Long> filmVersions = new ConcurrentHashMap<>();
+    private final Map<Integer, Long> userVersions = new ConcurrentHashMap<>();
+    private volatile long invalidatedVersion;
+
+    public void filmChanged(int filmId) {
+        long version = clock.incrementAndGet();
+        filmVersions.merge(filmId, version, Math::max);
+        filmsVersion.accumulateAndGet(version, Math::max);
+    }
+
+    public void filmsChanged() {
+        filmsVersion.accumulateAndGet(clock.incrementAndGet(), Math::max);
+    }
+
+    public void userChanged(int userId) {
+        userVersions.merge(userId, clock.incrementAndGet(), Math::max);
+    }
+
+    public void invalidateAll() {
+        invalidatedVersion = clock.incrementAndGet();
+    }
+
+    public String getFilmTag(int filmId) {
+        if (!idExistenceIndex.isFilmExists(filmId)) {
+            return null;
+        }
+        return tag("film", filmVersions.getOrDefault(filmId, 0L));
+    }
+
+    public String getFilmsTag() {
+        return tag("films", filmsVersion.get());
+    }
+
+    public String getUserTag(int userId) {
+        if (!idExistenceIndex.isUserExists(userId)) {
+            return null;
+        }
+        return tag("user", userVersions.getOrDefault(userId, 0L));
+    }
+
+    public String getReferenceDataTag() {
+        return tag("reference", 0);
+    }
+
+    private String tag(String kind, long version) {
+        return "\"" + kind + "-" + instance + "-" + Math.max(version, invalidatedVersion) + "\"";
+    }
+}
@@ -0,0 +1,32 @@
+package ru.yandex.practicum.filmorate.dao.impl;
+
+import java.util.Arrays;
+import java.util.SplittableRandom;
+
+final class ZipfDistribution {
+
+    private final double[] cumulative;
+
+    ZipfDistribution(int size, double exponent) {
+        cumulative = new double[size];
+        double sum = 0;
+        for (int rank = 0; rank < size; rank++) {
+            sum += 1 / Math.pow(rank + 1, exponent);
+            cumulative[rank] = sum;
+        }
+        for (int rank = 0; rank < size; rank++) {
+            cumulative[rank] /= sum;
+        }
+    }
+
+    int sample(SplittableRandom random) {
+        int index = Arrays.binarySearch(cumulative, random.nextDouble());
+        int rank = index >= 0 ? index : -index - 1;
+        return Math.min(rank, cumulative.length - 1);
+    }
+
+    static int sampleCount(SplittableRandom random, double mean, int max) {
+        double count = mean * (1 / Math.sqrt(1 - random.nextDouble()) - 1);
+        return (int) Math.min(count, max);
+    }
+}
@@ -0,0 +1,45 @@
+package ru.yandex.practicum.filmorate.job;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import ru.yandex.practicum.filmorate.config.CacheRegistry;
+import ru.yandex.practicum.filmorate.dao.impl.DuplicateRecordsMerger;
+import ru.yandex.practicum.filmorate.dao.impl.FriendshipGraph;
+import ru.yandex.practicum.filmorate.dao.impl.IdExistenceIndex;
+import ru.yandex.practicum.filmorate.dao.impl.LikesMatrix;
+import ru.yandex.practicum.filmorate.dao.impl.PopularFilmsLeaderboard;
+import ru.yandex.practicum.filmorate.dao.impl.VersionRegistry;
+
+@Component
+@ConditionalOnProperty(name = "filmorate.migration.merge-duplicates.enabled", havingValue = "true")
+@RequiredArgsConstructor
+@Slf4j
+public class DuplicateRecordsMergeJob implements ApplicationRunner {
+
+    private final DuplicateRecordsMerger merger;
+    private final PopularFilmsLeaderboard leaderboard;
+    private final LikesMatrix likesMatrix;
+    private final FriendshipGraph friendshipGraph;
+    private final IdExistenceIndex idExistenceIndex;
+    private final CacheRegistry cacheRegistry;
+    private final VersionRegistry versionRegistry;
+
+    @Override
+    public void run(ApplicationArguments args) {
+        int mergedRecords = merger.mergeFilms() + merger.mergeUsers();
+        if (mergedRecords == 0) {
+            return;
+        }
+        leaderboard.reload();
+        likesMatrix.reload();
+        friendshipGraph.reload();
+        idExistenceIndex.reload();
+        cacheRegistry.invalidateAll();
+        versionRegistry.invalidateAll();
+        log.warn("Дубликаты объединены, перезапустите приложение без filmorate.migration.merge-duplicates.enabled");
+    }
+}
@@ -0,0 +1,47 @@
+package ru.yandex.practicum.filmorate.job;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import ru.yandex.practicum.filmorate.dao.LikesDao;
+import ru.yandex.practicum.filmorate.dao.impl.LikesWriteBehindQueue;
+import ru.yandex.practicum.filmorate.dao.impl.PopularFilmsLeaderboard;
+import ru.yandex.practicum.filmorate.dao.impl.VersionRegistry;
+
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class LikesCountReconciliationJob {
+
+    private final LikesDao likesDao;
+    private final PopularFilmsLeaderboard leaderboard;
+    private final LikesWriteBehindQueue writeBehindQueue;
+    private final VersionRegistry versionRegistry;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void reconcileOnStartup() {
+        reconcile();
+    }
+
+    @Scheduled(fixedDelayString = "${filmorate.likes.reconciliation-interval-ms}",
+            initialDelayString = "${filmorate.likes.reconciliation-interval-ms}")
+    public void reconcile() {
+        leaderboard.exclusively(() -> {
+            writeBehindQueue.flush();
+            int fixedFilms = likesDao.recalculateLikesCount();
+            if (fixedFilms > 0) {
+                log.warn("Счетчики лайков пересчитаны для {} фильмов", fixedFilms);
+            } else {
+                log.info("Счетчики лайков совпадают с таблицей likes");
+            }
+            if (leaderboard.verify(likesDao.getLikesCountByFilmId()) > 0) {
+                log.warn("Рейтинг популярных фильмов расходится с БД и будет перезагружен");
+                leaderboard.reload();
+                versionRegistry.filmsChanged();
+            }
+        });
+    }
+}
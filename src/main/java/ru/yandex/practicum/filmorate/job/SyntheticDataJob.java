@@ -0,0 +1,66 @@
+package ru.yandex.practicum.filmorate.job;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import ru.yandex.practicum.filmorate.config.CacheRegistry;
+import ru.yandex.practicum.filmorate.dao.impl.FriendshipGraph;
+import ru.yandex.practicum.filmorate.dao.impl.IdExistenceIndex;
+import ru.yandex.practicum.filmorate.dao.impl.LikesMatrix;
+import ru.yandex.practicum.filmorate.dao.impl.PopularFilmsLeaderboard;
+import ru.yandex.practicum.filmorate.dao.impl.SyntheticDataGenerator;
+import ru.yandex.practicum.filmorate.dao.impl.VersionRegistry;
+import ru.yandex.practicum.filmorate.model.GeneratorSettings;
+
+@Component
+@ConditionalOnProperty(name = "filmorate.generator.enabled", havingValue = "true")
+@Slf4j
+public class SyntheticDataJob implements ApplicationRunner {
+
+    private final SyntheticDataGenerator generator;
+    private final PopularFilmsLeaderboard leaderboard;
+    private final LikesMatrix likesMatrix;
+    private final FriendshipGraph friendshipGraph;
+    private final IdExistenceIndex idExistenceIndex;
+    private final CacheRegistry cacheRegistry;
+    private final VersionRegistry versionRegistry;
+    private final GeneratorSettings settings;
+
+    public SyntheticDataJob(SyntheticDataGenerator generator, PopularFilmsLeaderboard leaderboard,
+                            LikesMatrix likesMatrix, FriendshipGraph friendshipGraph,
+                            IdExistenceIndex idExistenceIndex, CacheRegistry cacheRegistry,
+                            VersionRegistry versionRegistry,
+                            @Value("${filmorate.generator.seed}") long seed,
+                            @Value("${filmorate.generator.films}") int films,
+                            @Value("${filmorate.generator.users}") int users,
+                            @Value("${filmorate.generator.likes-per-user}") double likesPerUser,
+                            @Value("${filmorate.generator.friends-per-user}") double friendsPerUser,
+                            @Value("${filmorate.generator.popularity-exponent}") double popularityExponent,
+                            @Value("${filmorate.generator.batch-size}") int batchSize) {
+        this.generator = generator;
+        this.leaderboard = leaderboard;
+        this.likesMatrix = likesMatrix;
+        this.friendshipGraph = friendshipGraph;
+        this.idExistenceIndex = idExistenceIndex;
+        this.cacheRegistry = cacheRegistry;
+        this.versionRegistry = versionRegistry;
+        this.settings = GeneratorSettings.builder().seed(seed).films(films).users(users).likesPerUser(likesPerUser)
+                .friendsPerUser(friendsPerUser).popularityExponent(popularityExponent).batchSize(batchSize).build();
+    }
+
+    @Override
+    public void run(ApplicationArguments args) {
+        long start = System.nanoTime();
+        generator.generate(settings);
+        leaderboard.reload();
+        likesMatrix.reload();
+        friendshipGraph.reload();
+        idExistenceIndex.reload();
+        cacheRegistry.invalidateAll();
+        versionRegistry.invalidateAll();
+        log.info("Синтетические данные загружены за {} мс", (System.nanoTime() - start) / 1_000_000);
+    }
+}
@@ -0,0 +1,24 @@
+package ru.yandex.practicum.filmorate.model;
+
+import lombok.Builder;
+import lombok.Data;
+
+import java.util.Map;
+
+@Data
+@Builder
+public class ExecutorStatistics {
+
+    private final boolean enabled;
+    private final int poolSize;
+    private final int active;
+    private final int queued;
+    private final int queueCapacity;
+    private final long completed;
+    private final long rejected;
+    private final double queueTimeMeanMillis;
+    private final double queueTimeMaxMillis;
+    private final Map<String, Long> queueTimeMillisHistogram;
+    private final double executionTimeMeanMillis;
+    private final double executionTimeMaxMillis;
+}
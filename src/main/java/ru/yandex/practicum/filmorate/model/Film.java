@@ -29,4 +29,18 @@ public class Film {
     @NotNull
     private Mpa mpa;
     private final Set<Genre> genres = new HashSet<>();
+
+    public Film copy() {
+        Film copy = Film.builder()
+                .id(id)
+                .name(name)
+                .description(description)
+                .releaseDate(releaseDate)
+                .duration(duration)
+                .mpa(mpa)
+                .build();
+        copy.likes.addAll(likes);
+        copy.genres.addAll(genres);
+        return copy;
+    }
 }
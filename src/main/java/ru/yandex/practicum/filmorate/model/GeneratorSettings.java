@@ -0,0 +1,17 @@
+package ru.yandex.practicum.filmorate.model;
+
+import lombok.Builder;
+import lombok.Data;
+
+@Data
+@Builder
+public class GeneratorSettings {
+
+    private final long seed;
+    private final int films;
+    private final int users;
+    private final double likesPerUser;
+    private final double friendsPerUser;
+    private final double popularityExponent;
+    private final int batchSize;
+}
@@ -0,0 +1,13 @@
+package ru.yandex.practicum.filmorate.model;
+
+public enum ImportFormat {
+    NDJSON,
+    CSV;
+
+    public static ImportFormat fromContentType(String contentType) {
+        if (contentType != null && contentType.toLowerCase().contains("csv")) {
+            return CSV;
+        }
+        return NDJSON;
+    }
+}
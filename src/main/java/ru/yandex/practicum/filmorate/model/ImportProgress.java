@@ -0,0 +1,57 @@
+package ru.yandex.practicum.filmorate.model;
+
+import lombok.AccessLevel;
+import lombok.Getter;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+@Getter
+public class ImportProgress {
+
+    private static final int MAX_ERRORS = 100;
+
+    private final String entity;
+    private final ImportFormat format;
+    private final int batchSize;
+    private final LocalDateTime startedAt = LocalDateTime.now();
+    private final List<String> errors = new CopyOnWriteArrayList<>();
+    @Getter(AccessLevel.NONE)
+    private final long startedNanos = System.nanoTime();
+    private volatile long processed;
+    private volatile long imported;
+    private volatile long rejected;
+    private volatile long durationMs;
+    private volatile boolean finished;
+
+    public ImportProgress(String entity, ImportFormat format, int batchSize) {
+        this.entity = entity;
+        this.format = format;
+        this.batchSize = batchSize;
+    }
+
+    public double getRowsPerSecond() {
+        long elapsedMs = finished ? durationMs : (System.nanoTime() - startedNanos) / 1_000_000;
+        return elapsedMs == 0 ? processed : processed * 1000.0 / elapsedMs;
+    }
+
+    public void addChunk(int chunkSize, int importedRows) {
+        processed += chunkSize;
+        imported += importedRows;
+        rejected += chunkSize - importedRows;
+    }
+
+    public void reject(long lineNumber, String reason) {
+        processed++;
+        rejected++;
+        if (errors.size() < MAX_ERRORS) {
+            errors.add("Строка " + lineNumber + ": " + reason);
+        }
+    }
+
+    public void finish() {
+        durationMs = (System.nanoTime() - startedNanos) / 1_000_000;
+        finished = true;
+    }
+}
@@ -0,0 +1,25 @@
+package ru.yandex.practicum.filmorate.model;
+
+import lombok.Builder;
+import lombok.Data;
+
+import java.util.Map;
+
+@Data
+@Builder
+public class PoolStatistics {
+
+    private final String poolName;
+    private final int maximumPoolSize;
+    private final int minimumIdle;
+    private final int active;
+    private final int idle;
+    private final int total;
+    private final int pending;
+    private final long acquired;
+    private final long timeouts;
+    private final double acquireTimeMeanMillis;
+    private final double acquireTimeMaxMillis;
+    private final Map<String, Long> acquireTimeMillisHistogram;
+    private final double usageTimeMeanMillis;
+}
@@ -0,0 +1,15 @@
+package ru.yandex.practicum.filmorate.model;
+
+import lombok.Builder;
+import lombok.Data;
+
+@Data
+@Builder
+public class RequestQueryStatistics {
+
+    private final String endpoint;
+    private final long requests;
+    private final long queries;
+    private final double meanQueries;
+    private final int maxQueries;
+}
@@ -0,0 +1,18 @@
+package ru.yandex.practicum.filmorate.model;
+
+import lombok.Builder;
+import lombok.Data;
+
+import java.util.Map;
+
+@Data
+@Builder
+public class TimerStatistics {
+
+    private final String name;
+    private final long count;
+    private final long errors;
+    private final double meanMillis;
+    private final double maxMillis;
+    private final Map<String, Long> histogramMillis;
+}
@@ -25,4 +25,16 @@ public class User {
     @Past
     private LocalDate birthday;
     private final Set<Integer> friendsIds = new HashSet<>();
+
+    public User copy() {
+        User copy = User.builder()
+                .id(id)
+                .email(email)
+                .login(login)
+                .name(name)
+                .birthday(birthday)
+                .build();
+        copy.friendsIds.addAll(friendsIds);
+        return copy;
+    }
 }
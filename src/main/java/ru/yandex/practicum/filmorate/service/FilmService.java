@@ -12,11 +12,15 @@ public interface FilmService {
 
     List<Film> getPopularFilm(int count);
 
+    List<Film> getRecommendations(int userId, int limit);
+
     Film createFilm(Film film);
 
     Film updateFilm(Film film);
 
     List<Film> getAllFilms();
 
+    List<Film> getFilms(int afterId, int limit);
+
     Film getFilmById(int filmId);
 }
@@ -0,0 +1,20 @@
+package ru.yandex.practicum.filmorate.service;
+
+import ru.yandex.practicum.filmorate.model.ImportFormat;
+import ru.yandex.practicum.filmorate.model.ImportProgress;
+
+import java.io.BufferedReader;
+import java.util.List;
+
+public interface ImportService {
+
+    ImportProgress importFilms(BufferedReader reader, ImportFormat format, int batchSize);
+
+    ImportProgress importUsers(BufferedReader reader, ImportFormat format, int batchSize);
+
+    ImportProgress importLikes(BufferedReader reader, ImportFormat format, int batchSize);
+
+    ImportProgress importFriendships(BufferedReader reader, ImportFormat format, int batchSize);
+
+    List<ImportProgress> getImports();
+}
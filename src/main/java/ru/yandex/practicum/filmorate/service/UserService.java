@@ -16,9 +16,13 @@ public interface UserService {
 
     List<User> getCommonFriends(int userId, int friendId);
 
+    List<User> getFriendRecommendations(int userId, int limit);
+
     User createUser(User user);
 
     User updateUser(User user);
 
     List<User> getAllUsers();
+
+    List<User> getUsers(int afterId, int limit);
 }
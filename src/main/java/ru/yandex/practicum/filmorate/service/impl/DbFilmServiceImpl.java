@@ -2,33 +2,58 @@ package ru.yandex.practicum.filmorate.service.impl;
 
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Qualifier;
-import org.springframework.dao.EmptyResultDataAccessException;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
+import ru.yandex.practicum.filmorate.dao.impl.IdExistenceIndex;
 import ru.yandex.practicum.filmorate.dao.impl.LikesDbStorage;
+import ru.yandex.practicum.filmorate.dao.impl.LikesMatrix;
+import ru.yandex.practicum.filmorate.dao.impl.LikesWriteBehindQueue;
+import ru.yandex.practicum.filmorate.dao.impl.PopularFilmsLeaderboard;
+import ru.yandex.practicum.filmorate.dao.impl.VersionRegistry;
 import ru.yandex.practicum.filmorate.exception.ObjectNotFoundException;
 import ru.yandex.practicum.filmorate.exception.ValidationException;
 import ru.yandex.practicum.filmorate.model.Film;
 import ru.yandex.practicum.filmorate.service.FilmService;
-import ru.yandex.practicum.filmorate.storage.film.FilmStorage;
+import ru.yandex.practicum.filmorate.storage.film.EvictableFilmStorage;
 import ru.yandex.practicum.filmorate.storage.user.UserStorage;
 
 import java.time.LocalDate;
+import java.util.ArrayList;
 import java.util.List;
 
 @Service
 @Slf4j
 public class DbFilmServiceImpl implements FilmService {
 
-    private final FilmStorage filmStorage;
+    private final EvictableFilmStorage filmStorage;
     private final UserStorage userStorage;
     private final LikesDbStorage likesStorage;
+    private final PopularFilmsLeaderboard leaderboard;
+    private final LikesMatrix likesMatrix;
+    private final LikesWriteBehindQueue writeBehindQueue;
+    private final IdExistenceIndex idExistenceIndex;
+    private final VersionRegistry versionRegistry;
+    private final int recommendationsNeighbours;
+    private final int recommendationsMaxUsersPerFilm;
     private static final LocalDate FIRST_FILM_RELEASE = LocalDate.of(1895, 12, 28);
 
-    public DbFilmServiceImpl(@Qualifier("filmDbStorage") FilmStorage filmStorage,
-                             @Qualifier("userDbStorage") UserStorage userStorage, LikesDbStorage likesStorage) {
+    public DbFilmServiceImpl(@Qualifier("cachingFilmStorage") EvictableFilmStorage filmStorage,
+                             @Qualifier("cachingUserStorage") UserStorage userStorage, LikesDbStorage likesStorage,
+                             PopularFilmsLeaderboard leaderboard, LikesMatrix likesMatrix,
+                             LikesWriteBehindQueue writeBehindQueue, IdExistenceIndex idExistenceIndex,
+                             VersionRegistry versionRegistry,
+                             @Value("${filmorate.recommendations.films.neighbours}") int neighbours,
+                             @Value("${filmorate.recommendations.films.max-users-per-film}") int maxUsersPerFilm) {
         this.filmStorage = filmStorage;
         this.userStorage = userStorage;
         this.likesStorage = likesStorage;
+        this.leaderboard = leaderboard;
+        this.likesMatrix = likesMatrix;
+        this.writeBehindQueue = writeBehindQueue;
+        this.idExistenceIndex = idExistenceIndex;
+        this.versionRegistry = versionRegistry;
+        this.recommendationsNeighbours = neighbours;
+        this.recommendationsMaxUsersPerFilm = maxUsersPerFilm;
     }
 
     @Override
@@ -36,7 +61,22 @@ public class DbFilmServiceImpl implements FilmService {
         validateFilmById(filmId);
         validateUserById(userId);
         log.info("Пользователь id={} поставил лайк фильму id={}", userId, filmId);
-        likesStorage.addLikeToFilm(filmId, userId);
+        leaderboard.withUpdate(() -> {
+            if (writeBehindQueue.isEnabled()) {
+                if (!likesMatrix.addLike(filmId, userId)) {
+                    log.error("Пользователь id = {} уже поставил лайк фильму id = {}", userId, filmId);
+                    throw new ValidationException("Пользователь id = " + userId +
+                            " уже поставил лайк фильму id = " + filmId);
+                }
+                writeBehindQueue.addLike(filmId, userId);
+            } else {
+                likesStorage.addLikeToFilm(filmId, userId);
+                likesMatrix.addLike(filmId, userId);
+            }
+            filmStorage.evict(filmId);
+            leaderboard.addLike(filmId);
+        });
+        versionRegistry.filmChanged(filmId);
     }
 
     @Override
@@ -44,32 +84,63 @@ public class DbFilmServiceImpl implements FilmService {
         validateFilmById(filmId);
         validateUserById(userId);
         log.info("Пользователь id={} удалил лайк с фильма id={}", userId, filmId);
-        likesStorage.deleteLikeFromFilm(filmId, userId);
+        leaderboard.withUpdate(() -> {
+            boolean deleted;
+            if (writeBehindQueue.isEnabled()) {
+                deleted = likesMatrix.deleteLike(filmId, userId);
+                if (deleted) {
+                    writeBehindQueue.deleteLike(filmId, userId);
+                }
+            } else {
+                deleted = likesStorage.deleteLikeFromFilm(filmId, userId);
+                if (deleted) {
+                    likesMatrix.deleteLike(filmId, userId);
+                }
+            }
+            if (deleted) {
+                filmStorage.evict(filmId);
+                leaderboard.deleteLike(filmId);
+                versionRegistry.filmChanged(filmId);
+            }
+        });
     }
 
     @Override
     public Film getFilmById(int filmId) {
-        Film film;
-        try {
-            film = filmStorage.getFilmById(filmId);
-        } catch (EmptyResultDataAccessException e) {
+        if (!idExistenceIndex.isFilmExists(filmId)) {
             log.debug("Фильм с id={} не найден", filmId);
             throw new ObjectNotFoundException("Фильм с id = " + filmId + " не найден");
         }
         log.info("Получили фильм по id={}", filmId);
-        return film;
+        return filmStorage.getFilmById(filmId);
     }
 
     @Override
     public List<Film> getPopularFilm(int count) {
         log.info("Получили список самых популярных фильмов");
-        return likesStorage.getPopularFilm(count);
+        return filmStorage.getFilmsByIds(leaderboard.getTopFilmIds(count));
+    }
+
+    @Override
+    public List<Film> getRecommendations(int userId, int limit) {
+        validateUserById(userId);
+        int[] filmIds = likesMatrix.recommendFilms(userId, limit, recommendationsNeighbours,
+                recommendationsMaxUsersPerFilm);
+        List<Integer> recommendedIds = new ArrayList<>(filmIds.length);
+        for (int filmId : filmIds) {
+            recommendedIds.add(filmId);
+        }
+        log.info("Получили рекомендации фильмов для пользователя id={}", userId);
+        return filmStorage.getFilmsByIds(recommendedIds);
     }
 
     @Override
     public Film createFilm(Film film) {
         validation(film);
         Film createdFilm = filmStorage.createFilm(film);
+        idExistenceIndex.addFilm(createdFilm.getId());
+        leaderboard.addFilm(createdFilm.getId());
+        versionRegistry.filmChanged(createdFilm.getId());
         log.info("Добавлен фильм: {}", createdFilm);
         return createdFilm;
     }
@@ -77,14 +148,23 @@ public class DbFilmServiceImpl implements FilmService {
     @Override
     public Film updateFilm(Film film) {
         validateFilmById(film.getId());
+        Film updatedFilm = filmStorage.updateFilm(film);
+        versionRegistry.filmChanged(film.getId());
         log.info("Обновлен фильм: {}", film);
-        return filmStorage.updateFilm(film);
+        return updatedFilm;
     }
 
     @Override
     public List<Film> getAllFilms() {
-        log.info("На данный момент сохранено фильмов: {}", filmStorage.getAllFilms().size());
-        return filmStorage.getAllFilms();
+        List<Film> films = filmStorage.getAllFilms();
+        log.info("На данный момент сохранено фильмов: {}", films.size());
+        return films;
+    }
+
+    @Override
+    public List<Film> getFilms(int afterId, int limit) {
+        log.info("Получили страницу фильмов после id={}, размер страницы {}", afterId, limit);
+        return filmStorage.getFilms(afterId, limit);
     }
 
     private void validation(Film film) {
@@ -92,36 +172,18 @@ public class DbFilmServiceImpl implements FilmService {
             log.error("Дата релиза не может быть раньше {}", FIRST_FILM_RELEASE);
             throw new ValidationException("Дата релиза должна быть не раньше " + FIRST_FILM_RELEASE);
         }
-        List<Film> filmsFromDB = filmStorage.getAllFilms();
-        for (Film film1 : filmsFromDB) {
-            if (film.getName().equals(film1.getName()) && film.getReleaseDate().equals(film1.getReleaseDate())
-                    && film.getDuration() == film1.getDuration()) {
-                log.error("Фильм с name={}, releaseDate={}, duration={}, уже существует", film.getName(),
-                        film.getReleaseDate(), film.getDuration());
-                throw new ValidationException("Фильм с name=" + film.getName() + ", releaseDate=" +
-                        film.getReleaseDate() + ", duration= " + film.getDuration() + ", уже существует");
-            }
-        }
     }
 
     private void validateFilmById(int filmId) {
-        try {
-            if (filmStorage.getFilmById(filmId) == null) {
-                log.error("Фильма с id={} не существует", filmId);
-                throw new ObjectNotFoundException("Фильма с id=" + filmId + " не существует");
-            }
-        } catch (EmptyResultDataAccessException e) {
+        if (!idExistenceIndex.isFilmExists(filmId)) {
+            log.error("Фильма с id={} не существует", filmId);
             throw new ObjectNotFoundException("Фильма с id=" + filmId + " не существует");
         }
     }
 
     private void validateUserById(int userId) {
-        try {
-            if (userStorage.getUserById(userId) == null) {
-                log.error("Пользователя с id={} не существует", userId);
-                throw new ObjectNotFoundException("Пользователя с id=" + userId + " не существует");
-            }
-        } catch (EmptyResultDataAccessException e) {
+        if (!idExistenceIndex.isUserExists(userId)) {
+            log.error("Пользователя с id={} не существует", userId);
             throw new ObjectNotFoundException("Пользователя с id=" + userId + " не существует");
         }
     }
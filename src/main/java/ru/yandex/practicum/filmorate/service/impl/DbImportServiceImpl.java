@@ -0,0 +1,304 @@
+package ru.yandex.practicum.filmorate.service.impl;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import ru.yandex.practicum.filmorate.config.CacheRegistry;
+import ru.yandex.practicum.filmorate.dao.ImportDao;
+import ru.yandex.practicum.filmorate.dao.impl.FriendshipGraph;
+import ru.yandex.practicum.filmorate.dao.impl.LikesMatrix;
+import ru.yandex.practicum.filmorate.dao.impl.LikesWriteBehindQueue;
+import ru.yandex.practicum.filmorate.dao.impl.PopularFilmsLeaderboard;
+import ru.yandex.practicum.filmorate.dao.impl.ReferenceDataRegistry;
+import ru.yandex.practicum.filmorate.dao.impl.VersionRegistry;
+import ru.yandex.practicum.filmorate.exception.ValidationException;
+import ru.yandex.practicum.filmorate.model.*;
+import ru.yandex.practicum.filmorate.service.ImportService;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.function.Function;
+
+@Service
+@Slf4j
+@RequiredArgsConstructor
+public class DbImportServiceImpl implements ImportService {
+
+    private static final LocalDate FIRST_FILM_RELEASE = LocalDate.of(1895, 12, 28);
+    private static final int MAX_TRACKED_IMPORTS = 20;
+
+    private final ImportDao importDao;
+    private final ReferenceDataRegistry referenceData;
+    private final PopularFilmsLeaderboard leaderboard;
+    private final FriendshipGraph friendshipGraph;
+    private final LikesMatrix likesMatrix;
+    private final LikesWriteBehindQueue writeBehindQueue;
+    private final CacheRegistry cacheRegistry;
+    private final VersionRegistry versionRegistry;
+    private final ObjectMapper objectMapper;
+    private final Deque<ImportProgress> imports = new ConcurrentLinkedDeque<>();
+
+    @Override
+    public ImportProgress importFilms(BufferedReader reader, ImportFormat format, int batchSize) {
+        return runImport("films", reader, format, batchSize, this::parseFilm, films -> {
+            List<Film> createdFilms = importDao.addFilms(films);
+            createdFilms.forEach(film -> leaderboard.addFilm(film.getId()));
+            versionRegistry.filmsChanged();
+            return createdFilms.size();
+        });
+    }
+
+    @Override
+    public ImportProgress importUsers(BufferedReader reader, ImportFormat format, int batchSize) {
+        return runImport("users", reader, format, batchSize, this::parseUser, importDao::addUsers);
+    }
+
+    @Override
+    public ImportProgress importLikes(BufferedReader reader, ImportFormat format, int batchSize) {
+        writeBehindQueue.flush();
+        ImportProgress progress = runImport("likes", reader, format, batchSize,
+                fields -> parsePair(fields, "filmId", "userId"), importDao::addLikes);
+        leaderboard.reload();
+        likesMatrix.reload();
+        cacheRegistry.invalidateAll();
+        versionRegistry.invalidateAll();
+        return progress;
+    }
+
+    @Override
+    public ImportProgress importFriendships(BufferedReader reader, ImportFormat format, int batchSize) {
+        ImportProgress progress = runImport("friendships", reader, format, batchSize,
+                fields -> parsePair(fields, "userId", "friendId"), importDao::addFriendships);
+        friendshipGraph.reload();
+        versionRegistry.invalidateAll();
+        return progress;
+    }
+
+    @Override
+    public List<ImportProgress> getImports() {
+        return new ArrayList<>(imports);
+    }
+
+    private <T> ImportProgress runImport(String entity, BufferedReader reader, ImportFormat format, int batchSize,
+                                         Function<Record, T> parser, Function<List<T>, Integer> chunkWriter) {
+        ImportProgress progress = new ImportProgress(entity, format, batchSize);
+        imports.addFirst(progress);
+        while (imports.size() > MAX_TRACKED_IMPORTS) {
+            imports.pollLast();
+        }
+        log.info("Начат импорт {} в формате {}, размер пачки {}", entity, format, batchSize);
+        List<T> chunk = new ArrayList<>(batchSize);
+        try {
+            String line;
+            long lineNumber = 0;
+            if (format == ImportFormat.CSV) {
+                reader.readLine();
+                lineNumber++;
+            }
+            while ((line = reader.readLine()) != null) {
+                lineNumber++;
+                if (line.isBlank()) {
+                    continue;
+                }
+                try {
+                    chunk.add(parser.apply(toRecord(line, format)));
+                } catch (ValidationException | IllegalArgumentException | DateTimeParseException e) {
+                    progress.reject(lineNumber, e.getMessage());
+                    continue;
+                }
+                if (chunk.size() == batchSize) {
+                    writeChunk(progress, chunk, chunkWriter);
+                }
+            }
+            if (!chunk.isEmpty()) {
+                writeChunk(progress, chunk, chunkWriter);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        } finally {
+            progress.finish();
+            log.info("Импорт {} завершен за {} мс: обработано {}, загружено {}, отклонено {}", entity,
+                    progress.getDurationMs(), progress.getProcessed(), progress.getImported(),
+                    progress.getRejected());
+        }
+        return progress;
+    }
+
+    private <T> void writeChunk(ImportProgress progress, List<T> chunk, Function<List<T>, Integer> chunkWriter) {
+        progress.addChunk(chunk.size(), chunkWriter.apply(chunk));
+        chunk.clear();
+        log.info("Импорт {}: обработано {}, загружено {}, отклонено {}, {} строк/с", progress.getEntity(),
+                progress.getProcessed(), progress.getImported(), progress.getRejected(),
+                Math.round(progress.getRowsPerSecond()));
+    }
+
+    private Film parseFilm(Record record) {
+        Film film;
+        if (record.json != null) {
+            try {
+                film = objectMapper.treeToValue(record.json, Film.class);
+            } catch (JsonProcessingException e) {
+                throw new ValidationException("Некорректные данные фильма");
+            }
+        } else {
+            film = Film.builder()
+                    .name(record.get(0))
+                    .description(record.get(1))
+                    .releaseDate(LocalDate.parse(record.get(2)))
+                    .duration(Integer.parseInt(record.get(3)))
+                    .mpa(Mpa.builder().id(Integer.parseInt(record.get(4))).build())
+                    .build();
+            if (!record.get(5).isBlank()) {
+                for (String genreId : record.get(5).split("\\|")) {
+                    film.getGenres().add(Genre.builder().id(Integer.parseInt(genreId.trim())).build());
+                }
+            }
+        }
+        validateFilm(film);
+        return film;
+    }
+
+    private User parseUser(Record record) {
+        User user;
+        if (record.json != null) {
+            try {
+                user = objectMapper.treeToValue(record.json, User.class);
+            } catch (JsonProcessingException e) {
+                throw new ValidationException("Некорректные данные пользователя");
+            }
+        } else {
+            user = User.builder()
+                    .email(record.get(0))
+                    .login(record.get(1))
+                    .name(record.get(2))
+                    .birthday(LocalDate.parse(record.get(3)))
+                    .build();
+        }
+        validateUser(user);
+        return user;
+    }
+
+    private int[] parsePair(Record record, String firstField, String secondField) {
+        if (record.json != null) {
+            JsonNode first = record.json.get(firstField);
+            JsonNode second = record.json.get(secondField);
+            if (first == null || second == null || !first.canConvertToInt() || !second.canConvertToInt()) {
+                throw new ValidationException("Ожидаются поля " + firstField + " и " + secondField);
+            }
+            return new int[]{first.asInt(), second.asInt()};
+        }
+        return new int[]{Integer.parseInt(record.get(0)), Integer.parseInt(record.get(1))};
+    }
+
+    private void validateFilm(Film film) {
+        if (film.getName() == null || film.getName().isBlank() || film.getName().length() > 255) {
+            throw new ValidationException("Название фильма не может быть пустым или длиннее 255 символов");
+        }
+        if (film.getDescription() == null || film.getDescription().length() > 200) {
+            throw new ValidationException("Описание фильма должно быть не длиннее 200 символов");
+        }
+        if (film.getReleaseDate() == null || film.getReleaseDate().isBefore(FIRST_FILM_RELEASE)) {
+            throw new ValidationException("Дата релиза должна быть не раньше " + FIRST_FILM_RELEASE);
+        }
+        if (film.getDuration() <= 0) {
+            throw new ValidationException("Продолжительность фильма должна быть положительной");
+        }
+        if (film.getMpa() == null || !referenceData.isMpaKnown(film.getMpa().getId())) {
+            throw new ValidationException("Неорректно переданы данные по Mpa");
+        }
+        film.setMpa(referenceData.getMpa(film.getMpa().getId()));
+        List<Genre> genres = new ArrayList<>(film.getGenres());
+        film.getGenres().clear();
+        for (Genre genre : genres) {
+            if (!referenceData.isGenreKnown(genre.getId())) {
+                throw new ValidationException("Неорректно переданы данные по жанру");
+            }
+            film.getGenres().add(referenceData.getGenre(genre.getId()));
+        }
+    }
+
+    private void validateUser(User user) {
+        if (user.getEmail() == null || !user.getEmail().contains("@") || user.getEmail().length() > 255) {
+            throw new ValidationException("Некорректный email пользователя");
+        }
+        if (user.getLogin() == null || user.getLogin().isBlank() || user.getLogin().contains(" ")
+                || user.getLogin().length() > 50) {
+            throw new ValidationException("Логин не может быть пустым, длиннее 50 символов и содержать пробелы");
+        }
+        if (user.getName() == null || user.getName().isBlank()) {
+            user.setName(user.getLogin());
+        }
+        if (user.getName().length() > 50) {
+            throw new ValidationException("Имя пользователя не может быть длиннее 50 символов");
+        }
+        if (user.getBirthday() == null || !user.getBirthday().isBefore(LocalDate.now())) {
+            throw new ValidationException("Дата рождения должна быть в прошлом");
+        }
+    }
+
+    private Record toRecord(String line, ImportFormat format) {
+        if (format == ImportFormat.CSV) {
+            return new Record(null, splitCsv(line));
+        }
+        try {
+            return new Record(objectMapper.readTree(line), null);
+        } catch (JsonProcessingException e) {
+            throw new ValidationException("Некорректный JSON");
+        }
+    }
+
+    private List<String> splitCsv(String line) {
+        List<String> fields = new ArrayList<>();
+        StringBuilder field = new StringBuilder();
+        boolean quoted = false;
+        for (int i = 0; i < line.length(); i++) {
+            char c = line.charAt(i);
+            if (quoted) {
+                if (c == '"' && i + 1 < line.length() && line.charAt(i + 1) == '"') {
+                    field.append('"');
+                    i++;
+                } else if (c == '"') {
+                    quoted = false;
+                } else {
+                    field.append(c);
+                }
+            } else if (c == '"') {
+                quoted = true;
+            } else if (c == ',') {
+                fields.add(field.toString());
+                field.setLength(0);
+            } else {
+                field.append(c);
+            }
+        }
+        fields.add(field.toString());
+        return fields;
+    }
+
+    private static class Record {
+        private final JsonNode json;
+        private final List<String> fields;
+
+        private Record(JsonNode json, List<String> fields) {
+            this.json = json;
+            this.fields = fields;
+        }
+
+        private String get(int index) {
+            if (index >= fields.size()) {
+                throw new ValidationException("Недостаточно полей в строке: " + fields.size());
+            }
+            return fields.get(index).trim();
+        }
+    }
+}
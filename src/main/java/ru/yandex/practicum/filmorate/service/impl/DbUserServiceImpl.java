@@ -2,18 +2,22 @@ package ru.yandex.practicum.filmorate.service.impl;
 
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Qualifier;
-import org.springframework.dao.EmptyResultDataAccessException;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 import ru.yandex.practicum.filmorate.dao.FriendshipDao;
+import ru.yandex.practicum.filmorate.dao.impl.FriendshipGraph;
+import ru.yandex.practicum.filmorate.dao.impl.IdExistenceIndex;
+import ru.yandex.practicum.filmorate.dao.impl.VersionRegistry;
 import ru.yandex.practicum.filmorate.exception.ObjectNotFoundException;
 import ru.yandex.practicum.filmorate.exception.ValidationException;
 import ru.yandex.practicum.filmorate.model.User;
 import ru.yandex.practicum.filmorate.service.UserService;
 import ru.yandex.practicum.filmorate.storage.user.UserStorage;
 
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Set;
-import java.util.stream.Collectors;
+import java.util.concurrent.TimeUnit;
 
 @Service
 @Slf4j
@@ -21,10 +25,27 @@ public class DbUserServiceImpl implements UserService {
 
     private final UserStorage storage;
     private final FriendshipDao friendshipDao;
+    private final FriendshipGraph friendshipGraph;
+    private final IdExistenceIndex idExistenceIndex;
+    private final VersionRegistry versionRegistry;
+    private final int recommendationsMaxFanOut;
+    private final int recommendationsMaxVisitedEdges;
+    private final long recommendationsTimeoutNanos;
 
-    public DbUserServiceImpl(@Qualifier("userDbStorage") UserStorage storage, FriendshipDao friendshipDao) {
+    public DbUserServiceImpl(@Qualifier("cachingUserStorage") UserStorage storage, FriendshipDao friendshipDao,
+                             FriendshipGraph friendshipGraph, IdExistenceIndex idExistenceIndex,
+                             VersionRegistry versionRegistry,
+                             @Value("${filmorate.recommendations.friends.max-fan-out}") int maxFanOut,
+                             @Value("${filmorate.recommendations.friends.max-visited-edges}") int maxVisitedEdges,
+                             @Value("${filmorate.recommendations.friends.timeout-ms}") long timeoutMs) {
         this.storage = storage;
         this.friendshipDao = friendshipDao;
+        this.friendshipGraph = friendshipGraph;
+        this.idExistenceIndex = idExistenceIndex;
+        this.versionRegistry = versionRegistry;
+        this.recommendationsMaxFanOut = maxFanOut;
+        this.recommendationsMaxVisitedEdges = maxVisitedEdges;
+        this.recommendationsTimeoutNanos = TimeUnit.MILLISECONDS.toNanos(timeoutMs);
     }
 
     @Override
@@ -33,22 +54,22 @@ public class DbUserServiceImpl implements UserService {
             log.error("Самого себя в друзья добавить нельзя");
             throw new ValidationException("Самого себя в друзья добавить нельзя");
         }
-        User user = getUserById(userId);
-        User friend = getUserById(friendId);
-        Set<Integer> usersFriends = user.getFriendsIds();
-        Set<Integer> friendsFriends = friend.getFriendsIds();
-        boolean isUserHasFriend = usersFriends.contains(friendId);
-        boolean isFriendHasUser = friendsFriends.contains(userId);
+        validateUserById(userId);
+        validateUserById(friendId);
+        boolean isUserHasFriend = friendshipGraph.hasFriend(userId, friendId);
+        boolean isFriendHasUser = friendshipGraph.hasFriend(friendId, userId);
         if (!isUserHasFriend && !isFriendHasUser) {
             friendshipDao.addFriend(userId, friendId);
-            usersFriends.add(friendId);
+            friendshipGraph.addFriend(userId, friendId);
+            versionRegistry.userChanged(userId);
             log.info("Пользователь id = {} добавил в друзья пользователя id = {}", userId, friendId);
         } else if (!isUserHasFriend && isFriendHasUser) {
             friendshipDao.addFriend(userId, friendId);
             friendshipDao.updateFriendship(userId, friendId, true);
             friendshipDao.updateFriendship(friendId, userId, true);
+            friendshipGraph.addFriend(userId, friendId);
+            versionRegistry.userChanged(userId);
             log.info("Пользователь id = {} подтвердил дружбу с пользователем id = {}", userId, friendId);
-            usersFriends.add(friendId);
         } else {
             log.info("Пользователь id = {} уже в друзьях у пользователя id = {}", friendId, userId);
             throw new ValidationException("Пользователь id = " + friendId + " уже в друзьях у пользователя id = " +
@@ -58,22 +79,24 @@ public class DbUserServiceImpl implements UserService {
 
     @Override
     public void deleteFriend(int userId, int friendId) {
-        User user = getUserById(userId);
-        User friend = getUserById(friendId);
-        Set<Integer> usersFriends = user.getFriendsIds();
-        Set<Integer> friendsFriends = friend.getFriendsIds();
-        boolean isUserHasFriend = usersFriends.contains(friendId);
-        boolean isFriendHasUser = friendsFriends.contains(userId);
+        validateUserById(userId);
+        validateUserById(friendId);
+        boolean isUserHasFriend = friendshipGraph.hasFriend(userId, friendId);
+        boolean isFriendHasUser = friendshipGraph.hasFriend(friendId, userId);
         if (!isUserHasFriend) {
             log.error("Пользователь id = {} не в друзьях у пользователя id = {}", friendId, userId);
             throw new ObjectNotFoundException("Пользователь id = " + friendId +
                     " не в друзьях у пользователя id = " + userId);
         } else if (!isFriendHasUser) {
             friendshipDao.deleteFriend(userId, friendId);
+            friendshipGraph.deleteFriend(userId, friendId);
+            versionRegistry.userChanged(userId);
             log.info("Пользователь id = {} удалил из друзей пользователя id = {}", userId, friendId);
         } else {
             friendshipDao.deleteFriend(userId, friendId);
             friendshipDao.updateFriendship(friendId, userId, false);
+            friendshipGraph.deleteFriend(userId, friendId);
+            versionRegistry.userChanged(userId);
             log.info("Пользователь id = {} удалил из друзей пользователя id = {}, статус дружбы обновлен",
                     userId, friendId);
         }
@@ -85,38 +108,44 @@ public class DbUserServiceImpl implements UserService {
         log.info("Нашли пользователя с id = {}", userId);
         User user = storage.getUserById(userId);
         Set<Integer> usersFriends = user.getFriendsIds();
-        usersFriends.addAll(friendshipDao.getAllFriendsById(user.getId()).stream().map(User::getId)
-                .collect(Collectors.toSet()));
+        for (int friendId : friendshipGraph.getFriendIds(userId)) {
+            usersFriends.add(friendId);
+        }
         return user;
     }
 
     @Override
     public List<User> getAllFriendsById(int userId) {
-        getUserById(userId);
+        validateUserById(userId);
         log.info("Получили список друзей пользователя id={}", userId);
-        return friendshipDao.getAllFriendsById(userId);
+        return storage.getUsersByIds(toList(friendshipGraph.getFriendIds(userId)));
     }
 
     @Override
     public List<User> getCommonFriends(int userId, int friendId) {
-        getUserById(userId);
-        getUserById(friendId);
+        validateUserById(userId);
+        validateUserById(friendId);
         log.info("Получили список общих друзей пользователей id={} и id={}", userId, friendId);
-        return friendshipDao.getCommonFriends(userId, friendId);
+        return storage.getUsersByIds(toList(friendshipGraph.getCommonFriendIds(userId, friendId)));
+    }
+
+    @Override
+    public List<User> getFriendRecommendations(int userId, int limit) {
+        validateUserById(userId);
+        int[] recommendedIds = friendshipGraph.recommendFriends(userId, limit, recommendationsMaxFanOut,
+                recommendationsMaxVisitedEdges, recommendationsTimeoutNanos);
+        log.info("Получили рекомендации друзей для пользователя id={}", userId);
+        return storage.getUsersByIds(toList(recommendedIds));
     }
 
     @Override
     public User createUser(User user) {
         validation(user);
-        Set<Integer> friendsOfUser = user.getFriendsIds();
-        for (Integer friendsId : friendsOfUser) {
-            if (!getAllUsers().contains(getUserById(friendsId))) {
-                log.error("Пользователя с id = {} еще не существует", friendsId);
-                friendsOfUser.remove(friendsId);
-                throw new ObjectNotFoundException("Пользователя с id = " + friendsId + " еще не существует");
-            }
+        for (Integer friendsId : user.getFriendsIds()) {
+            validateUserById(friendsId);
         }
         User createdUser = storage.createUser(user);
+        idExistenceIndex.addUser(createdUser.getId());
         Set<Integer> friendsOfCreatedUser = user.getFriendsIds();
         for (Integer friendsId : friendsOfCreatedUser) {
             addFriend(createdUser.getId(), friendsId);
@@ -127,41 +156,54 @@ public class DbUserServiceImpl implements UserService {
 
     @Override
     public User updateUser(User user) {
-        try {
-            if (storage.getUserById(user.getId()) == null) {
-                log.debug("Пользователя с id={} не существует", user.getId());
-                throw new ObjectNotFoundException("Пользователя с id=" + user.getId() + " еще не существует");
-            }
-            Set<Integer> friendsOfUser = user.getFriendsIds();
-            for (Integer friendsId : friendsOfUser) {
-                if (!getAllUsers().contains(getUserById(friendsId))) {
-                    log.error("Пользователя с id = {} еще не существует", friendsId);
-                    friendsOfUser.remove(friendsId);
-                    throw new ObjectNotFoundException("Пользователя с id = " + friendsId + " еще не существует");
-                }
-                addFriend(user.getId(), friendsId);
-            }
-        } catch (EmptyResultDataAccessException e) {
-            log.error("Пользователя с id=" + user.getId() + " не существует");
+        if (!idExistenceIndex.isUserExists(user.getId())) {
+            log.error("Пользователя с id={} не существует", user.getId());
             throw new ObjectNotFoundException("Пользователя с id=" + user.getId() + " еще не существует");
         }
+        for (Integer friendsId : user.getFriendsIds()) {
+            validateUserById(friendsId);
+            addFriend(user.getId(), friendsId);
+        }
         validation(user);
+        User updatedUser = storage.updateUser(user);
+        versionRegistry.userChanged(user.getId());
         log.info("Обновили пользователя с id={}", user.getId());
-        return storage.updateUser(user);
+        return updatedUser;
     }
 
     @Override
     public List<User> getAllUsers() {
-        log.info("На данный момент сохранено пользователей: {}", storage.getAllUsers().size());
         List<User> allUsers = storage.getAllUsers();
-        for (User user : allUsers) {
-            Set<Integer> usersFriends = user.getFriendsIds();
-            usersFriends.addAll(friendshipDao.getAllFriendsById(user.getId()).stream().map(User::getId)
-                    .collect(Collectors.toSet()));
-        }
+        log.info("На данный момент сохранено пользователей: {}", allUsers.size());
+        addFriendsIds(allUsers);
         return allUsers;
     }
 
+    @Override
+    public List<User> getUsers(int afterId, int limit) {
+        List<User> users = storage.getUsers(afterId, limit);
+        log.info("Получили страницу пользователей после id={}, размер страницы {}", afterId, limit);
+        addFriendsIds(users);
+        return users;
+    }
+
+    private void addFriendsIds(List<User> users) {
+        for (User user : users) {
+            Set<Integer> friendsIds = user.getFriendsIds();
+            for (int friendId : friendshipGraph.getFriendIds(user.getId())) {
+                friendsIds.add(friendId);
+            }
+        }
+    }
+
+    private List<Integer> toList(int[] ids) {
+        List<Integer> list = new ArrayList<>(ids.length);
+        for (int id : ids) {
+            list.add(id);
+        }
+        return list;
+    }
+
     private void validation(User user) {
         if (user.getLogin().contains(" ")) {
             log.error("Логин не может быть пустым и содержать пробелы");
@@ -170,26 +212,19 @@ public class DbUserServiceImpl implements UserService {
         if (user.getName() == null || user.getName().equals("")) {
             user.setName(user.getLogin());
         }
-        List<User> usersFromDB = storage.getAllUsers();
-        for (User user1 : usersFromDB) {
-            if (user1.getEmail().equals(user.getEmail())) {
-                log.error("Пользователь с email = {} уже существует", user.getEmail());
-                throw new ValidationException("Пользователь с email = " + user.getEmail() + " уже существует");
-            }
-            if (user1.getLogin().equals(user.getLogin())) {
-                log.error("Пользователь с login = {} уже существует", user.getLogin());
-                throw new ValidationException("Пользователь с login = " + user.getLogin() + " уже существует");
-            }
+        if (storage.isEmailUsed(user.getEmail(), user.getId())) {
+            log.error("Пользователь с email = {} уже существует", user.getEmail());
+            throw new ValidationException("Пользователь с email = " + user.getEmail() + " уже существует");
+        }
+        if (storage.isLoginUsed(user.getLogin(), user.getId())) {
+            log.error("Пользователь с login = {} уже существует", user.getLogin());
+            throw new ValidationException("Пользователь с login = " + user.getLogin() + " уже существует");
         }
     }
 
     private void validateUserById(int userId) {
-        try {
-            if (storage.getUserById(userId) == null) {
-                log.error("Пользователя с id={} не существует", userId);
-                throw new ObjectNotFoundException("Пользователя с id=" + userId + " не существует");
-            }
-        } catch (EmptyResultDataAccessException e) {
+        if (!idExistenceIndex.isUserExists(userId)) {
+            log.error("Пользователя с id={} не существует", userId);
             throw new ObjectNotFoundException("Пользователя с id=" + userId + " не существует");
         }
     }
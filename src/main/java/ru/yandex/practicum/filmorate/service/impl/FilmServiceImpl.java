@@ -3,6 +3,7 @@ package ru.yandex.practicum.filmorate.service.impl;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.stereotype.Service;
+import ru.yandex.practicum.filmorate.dao.impl.PackedTopK;
 import ru.yandex.practicum.filmorate.exception.ObjectNotFoundException;
 import ru.yandex.practicum.filmorate.exception.ValidationException;
 import ru.yandex.practicum.filmorate.model.Film;
@@ -11,8 +12,12 @@ import ru.yandex.practicum.filmorate.storage.film.FilmStorage;
 import ru.yandex.practicum.filmorate.storage.user.UserStorage;
 
 import java.time.LocalDate;
+import java.util.Arrays;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 import java.util.stream.Collectors;
 
 @Service
@@ -21,6 +26,7 @@ public class FilmServiceImpl implements FilmService {
 
     private final FilmStorage filmStorage;
     private final UserStorage userStorage;
+    private final ConcurrentMap<Integer, Set<Integer>> likes = new ConcurrentHashMap<>();
 
     public FilmServiceImpl(@Qualifier("inMemoryFilmStorage") FilmStorage filmStorage, @Qualifier("inMemoryUserStorage") UserStorage userStorage) {
         this.filmStorage = filmStorage;
@@ -33,8 +39,7 @@ public class FilmServiceImpl implements FilmService {
     public void addLike(int filmId, int userId) {
         validateFilmById(filmId);
         validateUserById(userId);
-        Set<Integer> likes = getLikesById(filmId);
-        likes.add(userId);
+        likes.get(filmId).add(userId);
         log.info("Пользователь id={} поставил лайк фильму id={}", userId, filmId);
     }
 
@@ -42,54 +47,118 @@ public class FilmServiceImpl implements FilmService {
     public void deleteLike(int filmId, int userId) {
         validateFilmById(filmId);
         validateUserById(userId);
-        Set<Integer> likes = getLikesById(filmId);
-        likes.remove(userId);
+        likes.get(filmId).remove(userId);
         log.info("Пользователь id={} удалил лайк с фильма id={}", userId, filmId);
     }
 
     @Override
     public Film getFilmById(int filmId) {
-        validateFilmById(filmId);
+        Film film = filmStorage.getFilmById(filmId);
+        if (film == null) {
+            log.error("Фильма с id={} не существует", filmId);
+            throw new ObjectNotFoundException("Фильма с id=" + filmId + " не существует");
+        }
         log.info("Получили фильм по id={}", filmId);
-        return filmStorage.getFilmById(filmId);
+        return addLikes(film);
     }
 
     @Override
     public List<Film> getPopularFilm(int count) {
         log.info("Получили список самых популярных фильмов");
-        return filmStorage.getAllFilms().stream()
-                .sorted((f1, f2) -> f2.getLikes().size() - f1.getLikes().size())
-                .limit(count)
+        long[] ranked = new long[likes.size()];
+        int rankedSize = 0;
+        for (Map.Entry<Integer, Set<Integer>> filmLikes : likes.entrySet()) {
+            if (rankedSize == ranked.length) {
+                ranked = Arrays.copyOf(ranked, rankedSize * 2 + 1);
+            }
+            ranked[rankedSize++] = PackedTopK.pack(filmLikes.getValue().size(), filmLikes.getKey());
+        }
+        List<Integer> popularIds = Arrays.stream(PackedTopK.topParallel(ranked, rankedSize, count))
+                .mapToObj(PackedTopK::unpackId)
                 .collect(Collectors.toList());
+        return addLikes(filmStorage.getFilmsByIds(popularIds));
+    }
+
+    @Override
+    public List<Film> getRecommendations(int userId, int limit) {
+        validateUserById(userId);
+        List<Film> films = addLikes(filmStorage.getAllFilms());
+        Set<Integer> likedFilms = films.stream()
+                .filter(film -> film.getLikes().contains(userId))
+                .map(Film::getId)
+                .collect(Collectors.toSet());
+        Map<Integer, Long> overlaps = films.stream()
+                .filter(film -> likedFilms.contains(film.getId()))
+                .flatMap(film -> film.getLikes().stream())
+                .filter(otherUserId -> otherUserId != userId)
+                .collect(Collectors.groupingBy(otherUserId -> otherUserId, Collectors.counting()));
+        log.info("Получили рекомендации фильмов для пользователя id={}", userId);
+        long[] scored = new long[films.size()];
+        int scoredSize = 0;
+        for (Film film : films) {
+            if (likedFilms.contains(film.getId())) {
+                continue;
+            }
+            long score = film.getLikes().stream()
+                    .mapToLong(otherUserId -> overlaps.getOrDefault(otherUserId, 0L))
+                    .sum();
+            if (score > 0) {
+                scored[scoredSize++] = PackedTopK.pack((int) Math.min(score, Integer.MAX_VALUE), film.getId());
+            }
+        }
+        List<Integer> recommendedIds = Arrays.stream(PackedTopK.top(scored, scoredSize, limit))
+                .mapToObj(PackedTopK::unpackId)
+                .collect(Collectors.toList());
+        return addLikes(filmStorage.getFilmsByIds(recommendedIds));
     }
 
     @Override
     public Film createFilm(Film film) {
         validation(film);
         Film createdFilm = filmStorage.createFilm(film);
+        Set<Integer> filmLikes = ConcurrentHashMap.newKeySet();
+        filmLikes.addAll(film.getLikes());
+        likes.put(createdFilm.getId(), filmLikes);
         log.info("Добавлен фильм: {}", createdFilm);
         return createdFilm;
     }
 
     @Override
     public Film updateFilm(Film film) {
-        if (filmStorage.getFilmById(film.getId()) == null) {
+        if (!likes.containsKey(film.getId())) {
             log.error("Фильма с id={} еще не было создано", film.getId());
             throw new ObjectNotFoundException("Фильма с id=" + film.getId() + " еще не было создано");
         }
         validation(film);
         log.info("Обновлен фильм: {}", film);
-        return filmStorage.updateFilm(film);
+        return addLikes(filmStorage.updateFilm(film));
     }
 
     @Override
     public List<Film> getAllFilms() {
-        log.info("На данный момент сохранено фильмов: {}", filmStorage.getAllFilms().size());
-        return filmStorage.getAllFilms();
+        List<Film> films = addLikes(filmStorage.getAllFilms());
+        log.info("На данный момент сохранено фильмов: {}", films.size());
+        return films;
+    }
+
+    @Override
+    public List<Film> getFilms(int afterId, int limit) {
+        log.info("Получили страницу фильмов после id={}, размер страницы {}", afterId, limit);
+        return addLikes(filmStorage.getFilms(afterId, limit));
+    }
+
+    private List<Film> addLikes(List<Film> films) {
+        for (Film film : films) {
+            addLikes(film);
+        }
+        return films;
     }
 
-    private Set<Integer> getLikesById(int filmId) {
-        return filmStorage.getFilmById(filmId).getLikes();
+    private Film addLikes(Film film) {
+        Set<Integer> filmLikes = film.getLikes();
+        filmLikes.clear();
+        filmLikes.addAll(likes.getOrDefault(film.getId(), Set.of()));
+        return film;
     }
 
     private void validation(Film film) {
@@ -100,7 +169,7 @@ public class FilmServiceImpl implements FilmService {
     }
 
     private void validateFilmById(int filmId) {
-        if (filmStorage.getFilmById(filmId) == null) {
+        if (!likes.containsKey(filmId)) {
             log.error("Фильма с id={} не существует", filmId);
             throw new ObjectNotFoundException("Фильма с id=" + filmId + " не существует");
         }
@@ -3,6 +3,7 @@ package ru.yandex.practicum.filmorate.service.impl;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.stereotype.Service;
+import ru.yandex.practicum.filmorate.dao.impl.PackedTopK;
 import ru.yandex.practicum.filmorate.exception.ObjectNotFoundException;
 import ru.yandex.practicum.filmorate.exception.ValidationException;
 import ru.yandex.practicum.filmorate.model.User;
@@ -10,8 +11,13 @@ import ru.yandex.practicum.filmorate.service.UserService;
 import ru.yandex.practicum.filmorate.storage.user.UserStorage;
 
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 import java.util.stream.Collectors;
 
 @Service
@@ -19,6 +25,8 @@ import java.util.stream.Collectors;
 public class UserServiceImpl implements UserService {
 
     private final UserStorage storage;
+    private final ConcurrentMap<Integer, Set<Integer>> friends = new ConcurrentHashMap<>();
+    private final Object friendshipLock = new Object();
 
     public UserServiceImpl(@Qualifier("inMemoryUserStorage") UserStorage storage) {
         this.storage = storage;
@@ -28,10 +36,10 @@ public class UserServiceImpl implements UserService {
     public void addFriend(int userId, int friendId) {
         validateUserById(userId);
         validateUserById(friendId);
-        Set<Integer> userFriends = getUserFriendsIds(userId);
-        userFriends.add(friendId);
-        Set<Integer> friendsOfFriend = getUserFriendsIds(friendId);
-        friendsOfFriend.add(userId);
+        synchronized (friendshipLock) {
+            friends.get(userId).add(friendId);
+            friends.get(friendId).add(userId);
+        }
         log.info("Пользователи {} и {} добавились друг к другу в друзья", storage.getUserById(userId),
                 storage.getUserById(friendId));
     }
@@ -40,28 +48,30 @@ public class UserServiceImpl implements UserService {
     public void deleteFriend(int userId, int friendId) {
         validateUserById(userId);
         validateUserById(friendId);
-        Set<Integer> userFriends = getUserFriendsIds(userId);
-        userFriends.remove(friendId);
-        Set<Integer> friendsOfFriend = getUserFriendsIds(friendId);
-        friendsOfFriend.remove(userId);
+        synchronized (friendshipLock) {
+            friends.get(userId).remove(friendId);
+            friends.get(friendId).remove(userId);
+        }
         log.info("Пользователи {} и {} удалены из друзей друг у друга", storage.getUserById(userId),
                 storage.getUserById(friendId));
     }
 
     @Override
     public User getUserById(int userId) {
-        validateUserById(userId);
+        User user = storage.getUserById(userId);
+        if (user == null) {
+            log.error("Пользователя с id={} не существует", userId);
+            throw new ObjectNotFoundException("Пользователя с id=" + userId + " не существует");
+        }
         log.info("Нашли пользователя с id = {}", userId);
-        return storage.getUserById(userId);
+        return addFriendsIds(user);
     }
 
     @Override
     public List<User> getAllFriendsById(int userId) {
         validateUserById(userId);
         log.info("Получили список друзей пользователя id={}", userId);
-        return getUserFriendsIds(userId).stream()
-                .map(storage::getUserById)
-                .collect(Collectors.toList());
+        return addFriendsIds(storage.getUsersByIds(new ArrayList<>(getUserFriendsIds(userId))));
     }
 
     @Override
@@ -70,41 +80,69 @@ public class UserServiceImpl implements UserService {
         validateUserById(friendId);
         Set<Integer> userFriends = getUserFriendsIds(userId);
         Set<Integer> friendsOfFriend = getUserFriendsIds(friendId);
-        List<User> commonFriends = new ArrayList<>();
+        List<Integer> commonFriendsIds = new ArrayList<>();
         for (int commonFriendId : userFriends) {
             if (friendsOfFriend.contains(commonFriendId)) {
-
-                commonFriends.add(storage.getUserById(commonFriendId));
+                commonFriendsIds.add(commonFriendId);
             }
         }
+        List<User> commonFriends = addFriendsIds(storage.getUsersByIds(commonFriendsIds));
         log.info("Получили список общих друзей пользователей id={} и id={}", userId, friendId);
         return commonFriends;
     }
 
+    @Override
+    public List<User> getFriendRecommendations(int userId, int limit) {
+        validateUserById(userId);
+        Set<Integer> userFriends = getUserFriendsIds(userId);
+        Map<Integer, Long> mutualFriends = userFriends.stream()
+                .flatMap(friendId -> getUserFriendsIds(friendId).stream())
+                .filter(candidateId -> candidateId != userId && !userFriends.contains(candidateId))
+                .collect(Collectors.groupingBy(candidateId -> candidateId, Collectors.counting()));
+        log.info("Получили рекомендации друзей для пользователя id={}", userId);
+        long[] ranked = mutualFriends.entrySet().stream()
+                .mapToLong(entry -> PackedTopK.pack(entry.getValue().intValue(), entry.getKey()))
+                .toArray();
+        List<Integer> recommendedIds = Arrays.stream(PackedTopK.top(ranked, ranked.length, limit))
+                .mapToObj(PackedTopK::unpackId)
+                .collect(Collectors.toList());
+        return addFriendsIds(storage.getUsersByIds(recommendedIds));
+    }
+
     @Override
     public User createUser(User user) {
         validation(user);
         User createdUser = storage.createUser(user);
+        Set<Integer> userFriends = ConcurrentHashMap.newKeySet();
+        userFriends.addAll(user.getFriendsIds());
+        friends.put(createdUser.getId(), userFriends);
         log.info("Добавили пользователя: {}", createdUser);
         return createdUser;
     }
 
     @Override
     public User updateUser(User user) {
-        if (storage.getUserById(user.getId()) == null) {
+        if (!friends.containsKey(user.getId())) {
             log.error("Пользователя с id={} не существует", user.getId());
             throw new ObjectNotFoundException("Пользователя с id=" + user.getId() + " еще не существует");
         }
         validation(user);
         log.info("Обновили пользователя с id={}", user.getId());
-        return storage.updateUser(user);
+        return addFriendsIds(storage.updateUser(user));
     }
 
 
     @Override
     public List<User> getAllUsers() {
-        log.info("На данный момент сохранено пользователей: {}", storage.getAllUsers().size());
-        return storage.getAllUsers();
+        List<User> users = addFriendsIds(storage.getAllUsers());
+        log.info("На данный момент сохранено пользователей: {}", users.size());
+        return users;
+    }
+
+    @Override
+    public List<User> getUsers(int afterId, int limit) {
+        log.info("Получили страницу пользователей после id={}, размер страницы {}", afterId, limit);
+        return addFriendsIds(storage.getUsers(afterId, limit));
     }
 
     private void validation(User user) {
@@ -118,7 +156,7 @@ public class UserServiceImpl implements UserService {
     }
 
     private void validateUserById(int userId) {
-        if (storage.getUserById(userId) == null) {
+        if (!friends.containsKey(userId)) {
             log.error("Пользователя с id={} не существует", userId);
             throw new ObjectNotFoundException("Пользователя с id=" + userId + " не существует");
         }
@@ -126,6 +164,20 @@ public class UserServiceImpl implements UserService {
     }
 
     private Set<Integer> getUserFriendsIds(int userId) {
-        return storage.getUserById(userId).getFriendsIds();
+        return new HashSet<>(friends.getOrDefault(userId, Set.of()));
+    }
+
+    private List<User> addFriendsIds(List<User> users) {
+        for (User user : users) {
+            addFriendsIds(user);
+        }
+        return users;
+    }
+
+    private User addFriendsIds(User user) {
+        Set<Integer> friendsIds = user.getFriendsIds();
+        friendsIds.clear();
+        friendsIds.addAll(friends.getOrDefault(user.getId(), Set.of()));
+        return user;
     }
 }
@@ -0,0 +1,98 @@
+package ru.yandex.practicum.filmorate.storage.film;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import ru.yandex.practicum.filmorate.model.Film;
+
+import java.util.*;
+
+public class CachingFilmStorage implements EvictableFilmStorage {
+
+    private final FilmStorage storage;
+    private final Cache<Integer, Film> cache;
+    private final Object evictionLock = new Object();
+    private long evictions;
+
+    public CachingFilmStorage(FilmStorage storage, Cache<Integer, Film> cache) {
+        this.storage = storage;
+        this.cache = cache;
+    }
+
+    @Override
+    public Film createFilm(Film film) {
+        return storage.createFilm(film);
+    }
+
+    @Override
+    public Film updateFilm(Film film) {
+        try {
+            return storage.updateFilm(film);
+        } finally {
+            invalidate(film.getId());
+        }
+    }
+
+    @Override
+    public List<Film> getAllFilms() {
+        return storage.getAllFilms();
+    }
+
+    @Override
+    public List<Film> getFilms(int afterId, int limit) {
+        return storage.getFilms(afterId, limit);
+    }
+
+    @Override
+    public Film getFilmById(int filmId) {
+        Film film = cache.get(filmId, storage::getFilmById);
+        return film == null ? null : film.copy();
+    }
+
+    @Override
+    public List<Film> getFilmsByIds(List<Integer> filmIds) {
+        Map<Integer, Film> cached = cache.getAllPresent(filmIds);
+        if (cached.size() < filmIds.size()) {
+            List<Integer> missingIds = new ArrayList<>(filmIds.size() - cached.size());
+            for (Integer filmId : filmIds) {
+                if (!cached.containsKey(filmId)) {
+                    missingIds.add(filmId);
+                }
+            }
+            long evictionsBeforeLoad;
+            synchronized (evictionLock) {
+                evictionsBeforeLoad = evictions;
+            }
+            List<Film> loaded = storage.getFilmsByIds(missingIds);
+            cached = new HashMap<>(cached);
+            for (Film film : loaded) {
+                cached.put(film.getId(), film);
+            }
+            synchronized (evictionLock) {
+                if (evictions == evictionsBeforeLoad) {
+                    for (Film film : loaded) {
+                        cache.put(film.getId(), film);
+                    }
+                }
+            }
+        }
+        List<Film> films = new ArrayList<>(filmIds.size());
+        for (Integer filmId : filmIds) {
+            Film film = cached.get(filmId);
+            if (film != null) {
+                films.add(film.copy());
+            }
+        }
+        return films;
+    }
+
+    @Override
+    public void evict(int filmId) {
+        invalidate(filmId);
+    }
+
+    private void invalidate(int filmId) {
+        synchronized (evictionLock) {
+            evictions++;
+            cache.invalidate(filmId);
+        }
+    }
+}
@@ -0,0 +1,6 @@
+package ru.yandex.practicum.filmorate.storage.film;
+
+public interface EvictableFilmStorage extends FilmStorage {
+
+    void evict(int filmId);
+}
@@ -12,6 +12,10 @@ public interface FilmStorage {
 
     List<Film> getAllFilms();
 
+    List<Film> getFilms(int afterId, int limit);
+
     Film getFilmById(int filmId);
 
+    List<Film> getFilmsByIds(List<Integer> filmIds);
+
 }
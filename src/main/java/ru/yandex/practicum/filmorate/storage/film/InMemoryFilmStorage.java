@@ -3,42 +3,66 @@ package ru.yandex.practicum.filmorate.storage.film;
 import org.springframework.stereotype.Component;
 import ru.yandex.practicum.filmorate.model.Film;
 
-import java.util.ArrayList;
-import java.util.HashMap;
-import java.util.List;
-import java.util.Map;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
 
 @Component
 public class InMemoryFilmStorage implements  FilmStorage {
 
-    private final Map<Integer, Film> films = new HashMap<>();
-    private int id = 0;
+    private final ConcurrentMap<Integer, Film> films = new ConcurrentHashMap<>();
+    private final AtomicInteger id = new AtomicInteger();
 
     private int generateId() {
-        return ++id;
+        return id.incrementAndGet();
     }
 
     @Override
     public Film createFilm(Film film) {
         film.setId(generateId());
-        films.put(film.getId(), film);
+        films.put(film.getId(), film.copy());
         return film;
     }
 
     @Override
     public Film updateFilm(Film film) {
-        films.put(film.getId(), film);
-        return film;
+        Film storedFilm = film.copy();
+        films.put(film.getId(), storedFilm);
+        return storedFilm.copy();
     }
 
     @Override
     public List<Film> getAllFilms() {
-        List<Film> allFilms = new ArrayList<>(films.values());
-        return allFilms;
+        return films.values().stream()
+                .map(Film::copy)
+                .sorted(Comparator.comparingInt(Film::getId))
+                .collect(Collectors.toList());
+    }
+
+    @Override
+    public List<Film> getFilms(int afterId, int limit) {
+        return films.values().stream()
+                .filter(film -> film.getId() > afterId)
+                .sorted(Comparator.comparingInt(Film::getId))
+                .limit(limit)
+                .map(Film::copy)
+                .collect(Collectors.toList());
     }
 
     @Override
     public Film getFilmById(int filmId) {
-        return films.get(filmId);
+        Film film = films.get(filmId);
+        return film == null ? null : film.copy();
+    }
+
+    @Override
+    public List<Film> getFilmsByIds(List<Integer> filmIds) {
+        return filmIds.stream()
+                .map(films::get)
+                .filter(Objects::nonNull)
+                .map(Film::copy)
+                .collect(Collectors.toList());
     }
 }
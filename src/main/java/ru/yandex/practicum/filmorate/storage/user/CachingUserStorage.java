@@ -0,0 +1,103 @@
+package ru.yandex.practicum.filmorate.storage.user;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import ru.yandex.practicum.filmorate.model.User;
+
+import java.util.*;
+
+public class CachingUserStorage implements UserStorage {
+
+    private final UserStorage storage;
+    private final Cache<Integer, User> cache;
+    private final Object evictionLock = new Object();
+    private long evictions;
+
+    public CachingUserStorage(UserStorage storage, Cache<Integer, User> cache) {
+        this.storage = storage;
+        this.cache = cache;
+    }
+
+    @Override
+    public User createUser(User user) {
+        return storage.createUser(user);
+    }
+
+    @Override
+    public User updateUser(User user) {
+        try {
+            return storage.updateUser(user);
+        } finally {
+            invalidate(user.getId());
+        }
+    }
+
+    @Override
+    public List<User> getAllUsers() {
+        return storage.getAllUsers();
+    }
+
+    @Override
+    public List<User> getUsers(int afterId, int limit) {
+        return storage.getUsers(afterId, limit);
+    }
+
+    @Override
+    public User getUserById(int userId) {
+        User user = cache.get(userId, storage::getUserById);
+        return user == null ? null : user.copy();
+    }
+
+    @Override
+    public List<User> getUsersByIds(List<Integer> userIds) {
+        Map<Integer, User> cached = cache.getAllPresent(userIds);
+        if (cached.size() < userIds.size()) {
+            List<Integer> missingIds = new ArrayList<>(userIds.size() - cached.size());
+            for (Integer userId : userIds) {
+                if (!cached.containsKey(userId)) {
+                    missingIds.add(userId);
+                }
+            }
+            long evictionsBeforeLoad;
+            synchronized (evictionLock) {
+                evictionsBeforeLoad = evictions;
+            }
+            List<User> loaded = storage.getUsersByIds(missingIds);
+            cached = new HashMap<>(cached);
+            for (User user : loaded) {
+                cached.put(user.getId(), user);
+            }
+            synchronized (evictionLock) {
+                if (evictions == evictionsBeforeLoad) {
+                    for (User user : loaded) {
+                        cache.put(user.getId(), user);
+                    }
+                }
+            }
+        }
+        List<User> users = new ArrayList<>(userIds.size());
+        for (Integer userId : userIds) {
+            User user = cached.get(userId);
+            if (user != null) {
+                users.add(user.copy());
+            }
+        }
+        return users;
+    }
+
+    @Override
+    public boolean isEmailUsed(String email, int exceptUserId) {
+        return storage.isEmailUsed(email, exceptUserId);
+    }
+
+    @Override
+    public boolean isLoginUsed(String login, int exceptUserId) {
+        return storage.isLoginUsed(login, exceptUserId);
+    }
+
+    private void invalidate(int userId) {
+        synchronized (evictionLock) {
+            evictions++;
+            cache.invalidate(userId);
+        }
+    }
+}
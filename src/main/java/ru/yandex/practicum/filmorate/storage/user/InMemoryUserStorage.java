@@ -1,43 +1,107 @@
 package ru.yandex.practicum.filmorate.storage.user;
 
+import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Component;
+import ru.yandex.practicum.filmorate.exception.ValidationException;
 import ru.yandex.practicum.filmorate.model.User;
 
-import java.util.ArrayList;
-import java.util.HashMap;
-import java.util.List;
-import java.util.Map;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
 
 @Component
+@Slf4j
 public class InMemoryUserStorage implements UserStorage {
-    private int id = 0;
-    private final Map<Integer, User> users = new HashMap<>();
+    private final AtomicInteger id = new AtomicInteger();
+    private final ConcurrentMap<Integer, User> users = new ConcurrentHashMap<>();
+    private final ConcurrentMap<String, Integer> userIdsByEmail = new ConcurrentHashMap<>();
+    private final ConcurrentMap<String, Integer> userIdsByLogin = new ConcurrentHashMap<>();
+    private final Object uniquenessLock = new Object();
 
     private  int generateId() {
-        return ++id;
+        return id.incrementAndGet();
     }
 
     @Override
     public User createUser(User user) {
-        user.setId(generateId());
-        users.put(user.getId(), user);
+        synchronized (uniquenessLock) {
+            requireUnique(user, 0);
+            user.setId(generateId());
+            users.put(user.getId(), user.copy());
+            userIdsByEmail.put(user.getEmail(), user.getId());
+            userIdsByLogin.put(user.getLogin(), user.getId());
+        }
         return user;
     }
 
     @Override
     public User updateUser(User user) {
-        users.put(user.getId(), user);
-        return user;
+        synchronized (uniquenessLock) {
+            requireUnique(user, user.getId());
+            User storedUser = user.copy();
+            User oldUser = users.put(user.getId(), storedUser);
+            if (oldUser != null) {
+                userIdsByEmail.remove(oldUser.getEmail());
+                userIdsByLogin.remove(oldUser.getLogin());
+            }
+            userIdsByEmail.put(user.getEmail(), user.getId());
+            userIdsByLogin.put(user.getLogin(), user.getId());
+            return storedUser.copy();
+        }
     }
 
     @Override
     public List<User> getAllUsers() {
-        List<User> allUsers = new ArrayList<>(users.values());
-        return allUsers;
+        return users.values().stream()
+                .map(User::copy)
+                .sorted(Comparator.comparingInt(User::getId))
+                .collect(Collectors.toList());
+    }
+
+    @Override
+    public List<User> getUsers(int afterId, int limit) {
+        return users.values().stream()
+                .filter(user -> user.getId() > afterId)
+                .sorted(Comparator.comparingInt(User::getId))
+                .limit(limit)
+                .map(User::copy)
+                .collect(Collectors.toList());
     }
 
     @Override
     public User getUserById(int userId) {
-        return users.get(userId);
+        User user = users.get(userId);
+        return user == null ? null : user.copy();
+    }
+
+    @Override
+    public List<User> getUsersByIds(List<Integer> userIds) {
+        return userIds.stream()
+                .map(users::get)
+                .filter(Objects::nonNull)
+                .map(User::copy)
+                .collect(Collectors.toList());
+    }
+
+    @Override
+    public boolean isEmailUsed(String email, int exceptUserId) {
+        Integer userId = userIdsByEmail.get(email);
+        return userId != null && userId != exceptUserId;
+    }
+
+    @Override
+    public boolean isLoginUsed(String login, int exceptUserId) {
+        Integer userId = userIdsByLogin.get(login);
+        return userId != null && userId != exceptUserId;
+    }
+
+    private void requireUnique(User user, int exceptUserId) {
+        if (isEmailUsed(user.getEmail(), exceptUserId) || isLoginUsed(user.getLogin(), exceptUserId)) {
+            log.error("Пользователь с email = {} или login = {} уже существует", user.getEmail(), user.getLogin());
+            throw new ValidationException("Пользователь с email = " + user.getEmail() + " или login = " +
+                    user.getLogin() + " уже существует");
+        }
     }
 }
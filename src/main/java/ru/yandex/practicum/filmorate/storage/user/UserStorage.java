@@ -12,5 +12,13 @@ public interface UserStorage {
 
     List<User> getAllUsers();
 
+    List<User> getUsers(int afterId, int limit);
+
     User getUserById(int userId);
+
+    List<User> getUsersByIds(List<Integer> userIds);
+
+    boolean isEmailUsed(String email, int exceptUserId);
+
+    boolean isLoginUsed(String login, int exceptUserId);
 }
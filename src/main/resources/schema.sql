@@ -28,9 +28,13 @@ name CHARACTER VARYING(255) NOT NULL,
 description CHARACTER VARYING(200) NOT NULL,
 release_date DATE NOT NULL,
 duration INTEGER NOT NULL,
-mpa_id INTEGER NOT NULL REFERENCES mpa (mpa_id)
+mpa_id INTEGER NOT NULL REFERENCES mpa (mpa_id),
+likes_count INTEGER DEFAULT 0 NOT NULL
 );
 
+ALTER TABLE films ADD COLUMN IF NOT EXISTS likes_count INTEGER DEFAULT 0 NOT NULL;
+CREATE INDEX IF NOT EXISTS films_likes_count_index ON films (likes_count DESC, film_id);
+
 CREATE TABLE IF NOT EXISTS likes
 (
 film_id INTEGER NOT NULL REFERENCES films (film_id) ON DELETE CASCADE,
@@ -51,6 +55,12 @@ genre_id INTEGER NOT NULL REFERENCES genres (genre_id) ON DELETE CASCADE,
 PRIMARY KEY (film_id, genre_id)
 );
 
+CREATE UNIQUE INDEX IF NOT EXISTS films_name_release_date_duration_uindex ON films (name, release_date, duration);
+
+CREATE UNIQUE INDEX IF NOT EXISTS users_email_uindex ON users (email);
+
+CREATE UNIQUE INDEX IF NOT EXISTS users_login_uindex ON users (login);
+
 DELETE FROM FRIENDSHIP WHERE user_id = 1 AND user_id = 2;
 DELETE FROM FILM_GENRE WHERE film_id = 2;
 
@@ -0,0 +1,41 @@
+package ru.yandex.practicum.filmorate.config;
+
+import lombok.RequiredArgsConstructor;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.annotation.DirtiesContext;
+import ru.yandex.practicum.filmorate.model.PoolStatistics;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:pool-metrics;DB_CLOSE_DELAY=-1",
+        "spring.datasource.hikari.maximum-pool-size=3",
+        "spring.datasource.hikari.minimum-idle=1"
+})
+@RequiredArgsConstructor(onConstructor_ = @Autowired)
+@DirtiesContext(classMode = DirtiesContext.ClassMode.AFTER_EACH_TEST_METHOD)
+class ConnectionPoolMetricsTest {
+
+    private final ConnectionPoolMetrics connectionPoolMetrics;
+    private final JdbcTemplate jdbcTemplate;
+
+    @Test
+    void shouldCollectPoolStatistics() {
+        long acquiredBefore = connectionPoolMetrics.getStatistics().getAcquired();
+        for (int i = 0; i < 5; i++) {
+            jdbcTemplate.queryForObject("select count(*) from films", Integer.class);
+        }
+
+        PoolStatistics statistics = connectionPoolMetrics.getStatistics();
+
+        assertEquals(3, statistics.getMaximumPoolSize(), "Размер пула не совпадает");
+        assertEquals(acquiredBefore + 5, statistics.getAcquired(), "Получение соединений не учтено");
+        assertEquals(statistics.getAcquired(), statistics.getAcquireTimeMillisHistogram().values().stream()
+                .mapToLong(Long::longValue).sum(), "Гистограмма не совпадает с числом получений");
+        assertEquals(0, statistics.getActive(), "Соединения не возвращены в пул");
+        assertTrue(statistics.getTotal() <= 3, "Пул превысил максимальный размер");
+    }
+}
@@ -0,0 +1,94 @@
+package ru.yandex.practicum.filmorate.config;
+
+import lombok.RequiredArgsConstructor;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.context.ApplicationContext;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.test.annotation.DirtiesContext;
+import ru.yandex.practicum.filmorate.controller.AsyncFilmController;
+import ru.yandex.practicum.filmorate.controller.AsyncUserController;
+import ru.yandex.practicum.filmorate.controller.FilmController;
+import ru.yandex.practicum.filmorate.controller.UserController;
+import ru.yandex.practicum.filmorate.model.ExecutorStatistics;
+import ru.yandex.practicum.filmorate.model.RequestQueryStatistics;
+import ru.yandex.practicum.filmorate.model.User;
+import ru.yandex.practicum.filmorate.service.impl.DbUserServiceImpl;
+
+import java.time.LocalDate;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+        "filmorate.async.enabled=true",
+        "filmorate.async.pool-size=1"
+})
+@AutoConfigureTestDatabase
+@RequiredArgsConstructor(onConstructor_ = @Autowired)
+@DirtiesContext(classMode = DirtiesContext.ClassMode.AFTER_EACH_TEST_METHOD)
+class DbExecutorTest {
+
+    private final DbExecutor dbExecutor;
+    private final MetricsRegistry metricsRegistry;
+    private final DbUserServiceImpl userService;
+    private final TestRestTemplate restTemplate;
+    private final ApplicationContext applicationContext;
+
+    @Test
+    void shouldRunOnDbThreadsAndCountQueriesOfRequest() throws Exception {
+        metricsRegistry.startRequest();
+        String thread = dbExecutor.supply(() -> {
+            userService.createUser(createUser("login"));
+            return Thread.currentThread().getName();
+        }).get(10, TimeUnit.SECONDS);
+        int queries = metricsRegistry.finishRequest("POST /users");
+
+        ExecutorStatistics statistics = dbExecutor.getStatistics();
+
+        assertTrue(thread.startsWith("filmorate-db-"), "Запрос выполнен не в потоке БД");
+        assertEquals(3, queries, "Обращения к БД из потока БД не учтены");
+        assertTrue(statistics.isEnabled(), "Асинхронный режим не включен");
+        assertEquals(1, statistics.getPoolSize(), "Размер пула не совпадает");
+        assertEquals(0, statistics.getRejected(), "Есть отклоненные задачи");
+    }
+
+    @Test
+    void shouldReplaceSynchronousControllers() {
+        assertEquals(1, applicationContext.getBeansOfType(AsyncFilmController.class).size(),
+                "Асинхронный контроллер фильмов не создан");
+        assertEquals(1, applicationContext.getBeansOfType(AsyncUserController.class).size(),
+                "Асинхронный контроллер пользователей не создан");
+        assertTrue(applicationContext.getBeansOfType(FilmController.class).isEmpty(),
+                "Синхронный контроллер фильмов не отключен");
+        assertTrue(applicationContext.getBeansOfType(UserController.class).isEmpty(),
+                "Синхронный контроллер пользователей не отключен");
+    }
+
+    @Test
+    void shouldServeControllersAsynchronously() {
+        restTemplate.postForEntity("/users", createUser("login"), User.class);
+
+        ResponseEntity<User> found = restTemplate.getForEntity("/users/1", User.class);
+        ResponseEntity<String> missing = restTemplate.getForEntity("/users/2", String.class);
+
+        assertEquals(HttpStatus.OK, found.getStatusCode(), "Пользователь не найден");
+        assertEquals("login", found.getBody().getLogin(), "Пользователь не совпадает");
+        assertEquals(HttpStatus.NOT_FOUND, missing.getStatusCode(), "Ошибка не преобразована в 404");
+        Map<String, RequestQueryStatistics> requests = metricsRegistry.getRequestStatistics().stream()
+                .collect(Collectors.toMap(RequestQueryStatistics::getEndpoint, Function.identity()));
+        assertEquals(3, requests.get("POST /users").getQueries(), "Обращения к БД асинхронного запроса не учтены");
+    }
+
+    private User createUser(String login) {
+        return User.builder().email(login + "@mail.ru").login(login).name("name")
+                .birthday(LocalDate.of(1989, 7, 7)).build();
+    }
+}
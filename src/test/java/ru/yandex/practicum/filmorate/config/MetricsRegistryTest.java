@@ -0,0 +1,61 @@
+package ru.yandex.practicum.filmorate.config;
+
+import lombok.RequiredArgsConstructor;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.annotation.DirtiesContext;
+import ru.yandex.practicum.filmorate.exception.ObjectNotFoundException;
+import ru.yandex.practicum.filmorate.model.RequestQueryStatistics;
+import ru.yandex.practicum.filmorate.model.TimerStatistics;
+import ru.yandex.practicum.filmorate.model.User;
+import ru.yandex.practicum.filmorate.service.impl.DbUserServiceImpl;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+@AutoConfigureTestDatabase
+@RequiredArgsConstructor(onConstructor_ = @Autowired)
+@DirtiesContext(classMode = DirtiesContext.ClassMode.AFTER_EACH_TEST_METHOD)
+class MetricsRegistryTest {
+
+    private final MetricsRegistry metricsRegistry;
+    private final DbUserServiceImpl userService;
+
+    @Test
+    void shouldTimeServiceAndStorageMethods() {
+        userService.createUser(User.builder().email("email@mail.ru").login("login").name("name")
+                .birthday(LocalDate.of(1989, 7, 7)).build());
+        userService.getUserById(1);
+        assertThrows(ObjectNotFoundException.class, () -> userService.getUserById(2));
+
+        Map<String, TimerStatistics> timers = metricsRegistry.getMethodStatistics().stream()
+                .collect(Collectors.toMap(TimerStatistics::getName, Function.identity()));
+
+        assertEquals(2, timers.get("DbUserServiceImpl.getUserById").getCount(), "Вызовы сервиса не учтены");
+        assertEquals(1, timers.get("DbUserServiceImpl.getUserById").getErrors(), "Ошибка сервиса не учтена");
+        assertEquals(1, timers.get("UserDbStorage.createUser").getCount(), "Вызов хранилища не учтен");
+    }
+
+    @Test
+    void shouldCountQueriesPerRequest() {
+        metricsRegistry.startRequest();
+        userService.createUser(User.builder().email("email@mail.ru").login("login").name("name")
+                .birthday(LocalDate.of(1989, 7, 7)).build());
+        int queries = metricsRegistry.finishRequest("POST /users");
+        metricsRegistry.countQuery();
+
+        List<RequestQueryStatistics> statistics = metricsRegistry.getRequestStatistics();
+
+        assertEquals(3, queries, "Число обращений к БД не совпадает");
+        assertEquals(1, statistics.size(), "Статистика запросов не совпадает");
+        assertEquals(3, statistics.get(0).getMaxQueries(), "Обращение вне запроса учтено");
+    }
+}
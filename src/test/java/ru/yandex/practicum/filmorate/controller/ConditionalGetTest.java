@@ -0,0 +1,123 @@
+package ru.yandex.practicum.filmorate.controller;
+
+import lombok.RequiredArgsConstructor;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.test.annotation.DirtiesContext;
+import ru.yandex.practicum.filmorate.config.MetricsRegistry;
+import ru.yandex.practicum.filmorate.model.Film;
+import ru.yandex.practicum.filmorate.model.Mpa;
+import ru.yandex.practicum.filmorate.model.RequestQueryStatistics;
+import ru.yandex.practicum.filmorate.model.User;
+
+import java.time.LocalDate;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@AutoConfigureTestDatabase
+@RequiredArgsConstructor(onConstructor_ = @Autowired)
+@DirtiesContext(classMode = DirtiesContext.ClassMode.AFTER_EACH_TEST_METHOD)
+class ConditionalGetTest {
+
+    private final TestRestTemplate restTemplate;
+    private final MetricsRegistry metricsRegistry;
+
+    @Test
+    void shouldAnswerNotModifiedWithoutQueries() {
+        createFilm();
+        ResponseEntity<String> first = get("/films/1", null);
+        long queries = getQueries("GET /films/{id}");
+
+        ResponseEntity<String> second = get("/films/1", first.getHeaders().getETag());
+
+        assertEquals(HttpStatus.OK, first.getStatusCode(), "Фильм не найден");
+        assertNotNull(first.getHeaders().getETag(), "ETag не передан");
+        assertFalse(first.getHeaders().getETag().startsWith("W/"), "ETag не строгий");
+        assertEquals("no-cache", first.getHeaders().getCacheControl(), "Cache-Control не передан");
+        assertEquals(HttpStatus.NOT_MODIFIED, second.getStatusCode(), "Неизмененный фильм отдан повторно");
+        assertNull(second.getBody(), "Ответ 304 содержит тело");
+        assertEquals(queries, getQueries("GET /films/{id}"), "Ответ 304 обращался к БД");
+    }
+
+    @Test
+    void shouldChangeTagsOfFilmAndPopularAfterLike() {
+        createFilm();
+        createUser("login");
+        String filmTag = get("/films/1", null).getHeaders().getETag();
+        String popularTag = get("/films/popular", null).getHeaders().getETag();
+        String genresTag = get("/genres", null).getHeaders().getETag();
+
+        restTemplate.put("/films/1/like/1", null);
+
+        ResponseEntity<Film> film = restTemplate.exchange("/films/1", HttpMethod.GET,
+                new HttpEntity<>(ifNoneMatch(filmTag)), Film.class);
+        assertEquals(HttpStatus.OK, film.getStatusCode(), "Измененный фильм не отдан");
+        assertTrue(film.getBody().getLikes().contains(1), "Отдан фильм без нового лайка");
+        assertEquals(HttpStatus.OK, get("/films/popular", popularTag).getStatusCode(),
+                "Измененный список популярных фильмов не отдан");
+        assertEquals(HttpStatus.NOT_MODIFIED, get("/genres", genresTag).getStatusCode(),
+                "Неизмененный список жанров отдан повторно");
+    }
+
+    @Test
+    void shouldChangeUserTagAfterFriendshipChange() {
+        createUser("first");
+        createUser("second");
+        String userTag = get("/users/1", null).getHeaders().getETag();
+
+        assertEquals(HttpStatus.NOT_MODIFIED, get("/users/1", userTag).getStatusCode(),
+                "Неизмененный пользователь отдан повторно");
+        restTemplate.put("/users/1/friends/2", null);
+        assertEquals(HttpStatus.OK, get("/users/1", userTag).getStatusCode(), "Измененный пользователь не отдан");
+    }
+
+    @Test
+    void shouldNotTagMissingFilm() {
+        ResponseEntity<String> response = get("/films/1", null);
+
+        assertEquals(HttpStatus.NOT_FOUND, response.getStatusCode(), "Ошибка не преобразована в 404");
+        assertNull(response.getHeaders().getETag(), "ETag передан для отсутствующего фильма");
+    }
+
+    private ResponseEntity<String> get(String url, String etag) {
+        return restTemplate.exchange(url, HttpMethod.GET, new HttpEntity<>(ifNoneMatch(etag)), String.class);
+    }
+
+    private HttpHeaders ifNoneMatch(String etag) {
+        HttpHeaders headers = new HttpHeaders();
+        if (etag != null) {
+            headers.setIfNoneMatch(etag);
+        }
+        return headers;
+    }
+
+    private long getQueries(String endpoint) {
+        return metricsRegistry.getRequestStatistics().stream()
+                .filter(statistics -> statistics.getEndpoint().equals(endpoint))
+                .mapToLong(RequestQueryStatistics::getQueries)
+                .sum();
+    }
+
+    private void createFilm() {
+        Film film = Film.builder().name("name").description("description").releaseDate(LocalDate.of(2000, 1, 1))
+                .duration(100).mpa(Mpa.builder().id(1).build()).build();
+        assertEquals(HttpStatus.OK, restTemplate.postForEntity("/films", film, Film.class).getStatusCode(),
+                "Фильм не создан");
+    }
+
+    private void createUser(String login) {
+        User user = User.builder().email(login + "@mail.ru").login(login).name("name")
+                .birthday(LocalDate.of(1989, 7, 7)).build();
+        assertEquals(HttpStatus.OK, restTemplate.postForEntity("/users", user, User.class).getStatusCode(),
+                "Пользователь не создан");
+    }
+}
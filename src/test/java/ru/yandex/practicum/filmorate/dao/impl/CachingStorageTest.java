@@ -0,0 +1,107 @@
+package ru.yandex.practicum.filmorate.dao.impl;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import lombok.RequiredArgsConstructor;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.annotation.DirtiesContext;
+import ru.yandex.practicum.filmorate.config.CacheRegistry;
+import ru.yandex.practicum.filmorate.model.CacheStatistics;
+import ru.yandex.practicum.filmorate.model.Film;
+import ru.yandex.practicum.filmorate.model.User;
+import ru.yandex.practicum.filmorate.service.impl.DbFilmServiceImpl;
+import ru.yandex.practicum.filmorate.storage.film.CachingFilmStorage;
+import ru.yandex.practicum.filmorate.storage.film.InMemoryFilmStorage;
+import ru.yandex.practicum.filmorate.storage.user.CachingUserStorage;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+@AutoConfigureTestDatabase
+@RequiredArgsConstructor(onConstructor_ = @Autowired)
+@DirtiesContext(classMode = DirtiesContext.ClassMode.AFTER_EACH_TEST_METHOD)
+class CachingStorageTest {
+
+    private final CachingFilmStorage filmStorage;
+    private final CachingUserStorage userStorage;
+    private final DbFilmServiceImpl filmService;
+    private final MpaDbStorage mpaDao;
+    private final CacheRegistry cacheRegistry;
+
+    @Test
+    void shouldServeRepeatedReadsFromCache() {
+        Film film = filmStorage.createFilm(Film.builder().name("Film").description("description")
+                .releaseDate(LocalDate.of(2000, 1, 1)).duration(100).mpa(mpaDao.getMpaById(1)).build());
+        filmStorage.getFilmById(film.getId());
+        filmStorage.getFilmById(film.getId()).getLikes().add(100);
+        filmStorage.getFilmsByIds(List.of(film.getId()));
+
+        CacheStatistics statistics = getStatistics("films");
+        assertEquals(1, statistics.getMisses(), "Неверное количество промахов");
+        assertEquals(2, statistics.getHits(), "Неверное количество попаданий");
+        assertTrue(filmStorage.getFilmById(film.getId()).getLikes().isEmpty(), "Кэш изменен снаружи");
+    }
+
+    @Test
+    void shouldEvictFilmAfterLike() {
+        Film film = filmStorage.createFilm(Film.builder().name("Film").description("description")
+                .releaseDate(LocalDate.of(2000, 1, 1)).duration(100).mpa(mpaDao.getMpaById(1)).build());
+        User user = userStorage.createUser(User.builder().email("email@mail.ru").login("login").name("name")
+                .birthday(LocalDate.of(1989, 7, 7)).build());
+        assertTrue(filmStorage.getFilmById(film.getId()).getLikes().isEmpty(), "У фильма есть лайки");
+
+        filmService.addLike(film.getId(), user.getId());
+
+        assertEquals(List.of(user.getId()), List.copyOf(filmStorage.getFilmById(film.getId()).getLikes()),
+                "Лайк не виден после добавления");
+    }
+
+    @Test
+    void shouldEvictUserAfterUpdate() {
+        User user = userStorage.createUser(User.builder().email("email@mail.ru").login("login").name("name")
+                .birthday(LocalDate.of(1989, 7, 7)).build());
+        userStorage.getUserById(user.getId());
+        user.setName("newName");
+        userStorage.updateUser(user);
+
+        assertEquals("newName", userStorage.getUserById(user.getId()).getName(), "Имя пользователя не обновлено");
+    }
+
+    @Test
+    void shouldNotCacheFilmLoadedBeforeConcurrentUpdate() {
+        AtomicReference<Runnable> duringLoad = new AtomicReference<>(() -> { });
+        InMemoryFilmStorage storage = new InMemoryFilmStorage() {
+            @Override
+            public List<Film> getFilmsByIds(List<Integer> filmIds) {
+                List<Film> films = super.getFilmsByIds(filmIds);
+                duringLoad.getAndSet(() -> { }).run();
+                return films;
+            }
+        };
+        CachingFilmStorage cachingStorage = new CachingFilmStorage(storage, Caffeine.newBuilder().build());
+        Film film = cachingStorage.createFilm(Film.builder().name("Film").description("description")
+                .releaseDate(LocalDate.of(2000, 1, 1)).duration(100).build());
+        Film update = Film.builder().name("Update").description("description")
+                .releaseDate(LocalDate.of(2000, 1, 1)).duration(100).build();
+        update.setId(film.getId());
+        duringLoad.set(() -> cachingStorage.updateFilm(update));
+
+        cachingStorage.getFilmsByIds(List.of(film.getId()));
+
+        assertEquals("Update", cachingStorage.getFilmById(film.getId()).getName(),
+                "В кэше остался фильм, прочитанный до обновления");
+    }
+
+    private CacheStatistics getStatistics(String name) {
+        return cacheRegistry.getStatistics().stream()
+                .filter(statistics -> statistics.getName().equals(name))
+                .findFirst()
+                .orElseThrow();
+    }
+}
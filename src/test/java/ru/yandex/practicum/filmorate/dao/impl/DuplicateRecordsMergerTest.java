@@ -0,0 +1,104 @@
+package ru.yandex.practicum.filmorate.dao.impl;
+
+import lombok.RequiredArgsConstructor;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.annotation.DirtiesContext;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+@AutoConfigureTestDatabase
+@RequiredArgsConstructor(onConstructor_ = @Autowired)
+@DirtiesContext(classMode = DirtiesContext.ClassMode.AFTER_EACH_TEST_METHOD)
+class DuplicateRecordsMergerTest {
+
+    private final DuplicateRecordsMerger merger;
+    private final JdbcTemplate jdbcTemplate;
+
+    @Test
+    void shouldMergeDuplicateFilms() {
+        jdbcTemplate.execute("drop index films_name_release_date_duration_uindex");
+        addUser(1, "first@mail.ru", "first");
+        addUser(2, "second@mail.ru", "second");
+        addFilm(1, "Film");
+        addFilm(2, "Film");
+        addFilm(3, "Other");
+        addFilm(4, "Film");
+        addLike(1, 1);
+        addLike(2, 1);
+        addLike(4, 2);
+        jdbcTemplate.update("insert into film_genre (film_id, genre_id) values (2, 1), (4, 2)");
+        jdbcTemplate.update("update films set likes_count = 1");
+
+        assertEquals(2, merger.mergeFilms(), "Удалено неверное число фильмов");
+
+        assertEquals(List.of(1, 3), jdbcTemplate.queryForList("select film_id from films order by film_id",
+                Integer.class), "Дубликаты фильмов не удалены");
+        assertEquals(List.of(1, 2), jdbcTemplate.queryForList("select user_id from likes where film_id = 1 " +
+                "order by user_id", Integer.class), "Лайки дубликатов не перенесены");
+        assertEquals(List.of(1, 2), jdbcTemplate.queryForList("select genre_id from film_genre where film_id = 1 " +
+                "order by genre_id", Integer.class), "Жанры дубликатов не перенесены");
+        assertEquals(2, jdbcTemplate.queryForObject("select likes_count from films where film_id = 1",
+                Integer.class), "Счетчик лайков не пересчитан");
+        assertDoesNotThrow(() -> jdbcTemplate.execute("create unique index films_name_release_date_duration_uindex " +
+                "on films (name, release_date, duration)"), "Дубликаты фильмов остались");
+        assertEquals(0, merger.mergeFilms(), "Повторное объединение изменило данные");
+    }
+
+    @Test
+    void shouldMergeUsersWithSameEmailOrLogin() {
+        jdbcTemplate.execute("drop index users_email_uindex");
+        jdbcTemplate.execute("drop index users_login_uindex");
+        addUser(1, "first@mail.ru", "first");
+        addUser(2, "first@mail.ru", "second");
+        addUser(3, "third@mail.ru", "second");
+        addUser(4, "fourth@mail.ru", "fourth");
+        addUser(5, "fifth@mail.ru", "fifth");
+        addFilm(1, "Film");
+        addFilm(2, "Other");
+        addLike(1, 1);
+        addLike(1, 2);
+        addLike(2, 3);
+        jdbcTemplate.update("update films set likes_count = (select count(*) from likes where likes.film_id = " +
+                "films.film_id)");
+        jdbcTemplate.update("insert into friendship (user_id, friend_id, status) " +
+                "values (2, 4, false), (4, 3, false), (5, 1, false), (1, 2, true), (2, 1, true)");
+
+        assertEquals(2, merger.mergeUsers(), "Удалено неверное число пользователей");
+
+        assertEquals(List.of(1, 4, 5), jdbcTemplate.queryForList("select user_id from users order by user_id",
+                Integer.class), "Дубликаты пользователей не удалены");
+        assertEquals(List.of("1-4-TRUE", "4-1-TRUE", "5-1-FALSE"), jdbcTemplate.queryForList(
+                "select concat(user_id, '-', friend_id, '-', status) from friendship order by user_id, friend_id",
+                String.class), "Дружба дубликатов перенесена неверно");
+        assertEquals(List.of(1, 1), jdbcTemplate.queryForList("select user_id from likes order by film_id",
+                Integer.class), "Лайки дубликатов не перенесены");
+        assertEquals(List.of(1, 1), jdbcTemplate.queryForList("select likes_count from films order by film_id",
+                Integer.class), "Счетчики лайков не пересчитаны");
+        assertDoesNotThrow(() -> {
+            jdbcTemplate.execute("create unique index users_email_uindex on users (email)");
+            jdbcTemplate.execute("create unique index users_login_uindex on users (login)");
+        }, "Дубликаты пользователей остались");
+        assertEquals(0, merger.mergeUsers(), "Повторное объединение изменило данные");
+    }
+
+    private void addFilm(int filmId, String name) {
+        jdbcTemplate.update("insert into films (film_id, name, description, release_date, duration, mpa_id) " +
+                "values (?, ?, 'description', '2000-01-01', 100, 1)", filmId, name);
+    }
+
+    private void addUser(int userId, String email, String login) {
+        jdbcTemplate.update("insert into users (user_id, email, login, name, birthday) " +
+                "values (?, ?, ?, 'name', '1990-01-01')", userId, email, login);
+    }
+
+    private void addLike(int filmId, int userId) {
+        jdbcTemplate.update("insert into likes (film_id, user_id) values (?, ?)", filmId, userId);
+    }
+}
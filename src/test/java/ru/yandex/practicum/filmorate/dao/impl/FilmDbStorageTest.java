@@ -8,6 +8,7 @@ import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.test.annotation.DirtiesContext;
 import ru.yandex.practicum.filmorate.dao.GenreDao;
 import ru.yandex.practicum.filmorate.dao.MpaDao;
+import ru.yandex.practicum.filmorate.exception.ValidationException;
 import ru.yandex.practicum.filmorate.model.Film;
 import ru.yandex.practicum.filmorate.model.Genre;
 import ru.yandex.practicum.filmorate.model.Mpa;
@@ -24,7 +25,7 @@ import static org.junit.jupiter.api.Assertions.*;
 @SpringBootTest
 @AutoConfigureTestDatabase
 @RequiredArgsConstructor(onConstructor_ = @Autowired)
-@DirtiesContext(classMode = DirtiesContext.ClassMode.BEFORE_EACH_TEST_METHOD)
+@DirtiesContext(classMode = DirtiesContext.ClassMode.AFTER_EACH_TEST_METHOD)
 class FilmDbStorageTest {
 
     private final FilmDbStorage filmStorage;
@@ -134,6 +135,15 @@ class FilmDbStorageTest {
                 );
     }
 
+    @Test
+    void shouldNotCreateDuplicateFilm() {
+        filmStorage.createFilm(createTestFilm());
+
+        assertThrows(ValidationException.class, () -> filmStorage.createFilm(createTestFilm()),
+                "Дубликат фильма сохранен");
+        assertEquals(1, filmStorage.getAllFilms().size(), "Список фильмов не соответствует истине");
+    }
+
     @Test
     void shouldUpdateFilmById() {
         Film testFilm = createTestFilm();
@@ -234,6 +244,21 @@ class FilmDbStorageTest {
                 );
     }
 
+    @Test
+    void shouldUpdateOnlyChangedGenres() {
+        Film testFilm = createTestFilm();
+        testFilm.getGenres().add(genreDao.getGenreById(3));
+        filmStorage.createFilm(testFilm);
+        Film filmForUpdate = filmForUpdate();
+        filmForUpdate.getGenres().add(Genre.builder().id(3).build());
+
+        Film updatedFilm = filmStorage.updateFilm(filmForUpdate);
+
+        Set<Genre> expectedGenres = Set.of(genreDao.getGenreById(2), genreDao.getGenreById(3));
+        assertEquals(expectedGenres, updatedFilm.getGenres(), "Жанры в ответе не совпадают");
+        assertEquals(expectedGenres, filmStorage.getFilmById(1).getGenres(), "Жанры в БД не совпадают");
+    }
+
     @Test
     void shouldGetAllFilms() {
         Film film = createTestFilm();
@@ -247,6 +272,31 @@ class FilmDbStorageTest {
         assertEquals(2, allFilms.size(), "Список фильмов не соответствует истине");
     }
 
+    @Test
+    void shouldGetFilmsPageAfterId() {
+        filmStorage.createFilm(createTestFilm());
+        filmStorage.createFilm(filmForUpdate());
+
+        List<Film> page = filmStorage.getFilms(1, 10);
+
+        assertEquals(1, page.size(), "Страница фильмов не соответствует истине");
+        assertEquals(2, page.get(0).getId(), "Страница фильмов не соответствует истине");
+        assertEquals(Set.of(genreDao.getGenreById(2)), page.get(0).getGenres(), "Жанры не совпадают");
+    }
+
+    @Test
+    void shouldGetAllFilmsWithGenres() {
+        Film film = createTestFilm();
+        Film film1 = filmForUpdate();
+        filmStorage.createFilm(film);
+        filmStorage.createFilm(film1);
+
+        List<Film> allFilms = filmStorage.getAllFilms();
+
+        assertEquals(Set.of(genreDao.getGenreById(1)), allFilms.get(0).getGenres(), "Жанры не совпадают");
+        assertEquals(Set.of(genreDao.getGenreById(2)), allFilms.get(1).getGenres(), "Жанры не совпадают");
+    }
+
     private Film createTestFilm() {
         Mpa mpa = mpaDao.getMpaById(1);
         Film testFilm = Film.builder().id(1).name("TestName").description("description")
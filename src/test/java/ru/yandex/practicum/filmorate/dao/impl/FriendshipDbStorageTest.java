@@ -11,13 +11,14 @@ import ru.yandex.practicum.filmorate.model.User;
 
 import java.time.LocalDate;
 import java.util.List;
+import java.util.stream.Collectors;
 
 import static org.junit.jupiter.api.Assertions.*;
 
 @SpringBootTest
 @AutoConfigureTestDatabase
 @RequiredArgsConstructor(onConstructor_ = @Autowired)
-@DirtiesContext(classMode = DirtiesContext.ClassMode.BEFORE_EACH_TEST_METHOD)
+@DirtiesContext(classMode = DirtiesContext.ClassMode.AFTER_EACH_TEST_METHOD)
 class FriendshipDbStorageTest {
 
     private final FriendshipDao friendshipDao;
@@ -58,6 +59,8 @@ class FriendshipDbStorageTest {
         User user2 = createSecondUser();
         User user3 = createSecondUser();
         user3.setId(3);
+        user3.setEmail("third@mail.ru");
+        user3.setLogin("loginThird");
         userStorage.createUser(user1);
         userStorage.createUser(user2);
         userStorage.createUser(user3);
@@ -70,6 +73,25 @@ class FriendshipDbStorageTest {
 
     }
 
+    @Test
+    void shouldGetOnlyCommonFriends() {
+        for (int i = 1; i <= 5; i++) {
+            userStorage.createUser(User.builder().email("user" + i + "@mail.ru").login("login" + i).name("name")
+                    .birthday(LocalDate.of(1989, 7, 7)).build());
+        }
+        friendshipDao.addFriend(1, 3);
+        friendshipDao.addFriend(1, 4);
+        friendshipDao.addFriend(1, 5);
+        friendshipDao.addFriend(2, 5);
+        friendshipDao.addFriend(2, 3);
+        friendshipDao.addFriend(4, 2);
+
+        List<User> commonFriends = friendshipDao.getCommonFriends(1, 2);
+
+        assertEquals(List.of(3, 5), commonFriends.stream().map(User::getId).collect(Collectors.toList()),
+                "Списки общих друзей не совпадают");
+    }
+
     private User createTestUser() {
         return User.builder().id(1).email("email@mail.ru").login("login").name("name")
                 .birthday(LocalDate.of(1989, 7, 7)).build();
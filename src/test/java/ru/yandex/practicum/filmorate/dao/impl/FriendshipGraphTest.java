@@ -0,0 +1,114 @@
+package ru.yandex.practicum.filmorate.dao.impl;
+
+import lombok.RequiredArgsConstructor;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.annotation.DirtiesContext;
+import ru.yandex.practicum.filmorate.dao.FriendshipDao;
+import ru.yandex.practicum.filmorate.model.User;
+import ru.yandex.practicum.filmorate.service.impl.DbUserServiceImpl;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+@AutoConfigureTestDatabase
+@RequiredArgsConstructor(onConstructor_ = @Autowired)
+@DirtiesContext(classMode = DirtiesContext.ClassMode.AFTER_EACH_TEST_METHOD)
+class FriendshipGraphTest {
+
+    private final FriendshipGraph friendshipGraph;
+    private final FriendshipDao friendshipDao;
+    private final UserDbStorage userStorage;
+    private final DbUserServiceImpl userService;
+
+    @Test
+    void shouldLoadGraphFromDb() {
+        createUsers(4);
+        friendshipDao.addFriend(1, 4);
+        friendshipDao.addFriend(1, 2);
+        friendshipDao.addFriend(3, 2);
+        friendshipGraph.reload();
+
+        assertArrayEquals(new int[]{2, 4}, friendshipGraph.getFriendIds(1), "Друзья не совпадают");
+        assertArrayEquals(new int[0], friendshipGraph.getFriendIds(2), "Друзья не совпадают");
+        assertTrue(friendshipGraph.hasFriend(3, 2), "Дружба не найдена");
+        assertFalse(friendshipGraph.hasFriend(2, 3), "Найдена несуществующая дружба");
+        assertArrayEquals(new int[]{2}, friendshipGraph.getCommonFriendIds(1, 3), "Общие друзья не совпадают");
+    }
+
+    @Test
+    void shouldUpdateGraphIncrementally() {
+        friendshipGraph.addFriend(1, 5);
+        friendshipGraph.addFriend(1, 3);
+        friendshipGraph.addFriend(1, 4);
+        friendshipGraph.addFriend(1, 3);
+
+        assertArrayEquals(new int[]{3, 4, 5}, friendshipGraph.getFriendIds(1), "Друзья не совпадают");
+
+        friendshipGraph.deleteFriend(1, 4);
+        friendshipGraph.deleteFriend(1, 7);
+        friendshipGraph.getFriendIds(1)[0] = 100;
+
+        assertArrayEquals(new int[]{3, 5}, friendshipGraph.getFriendIds(1), "Друзья не совпадают");
+    }
+
+    @Test
+    void shouldRecommendFriendsByMutualFriends() {
+        friendshipGraph.addFriend(1, 2);
+        friendshipGraph.addFriend(1, 3);
+        friendshipGraph.addFriend(1, 4);
+        friendshipGraph.addFriend(2, 1);
+        friendshipGraph.addFriend(2, 3);
+        friendshipGraph.addFriend(2, 6);
+        friendshipGraph.addFriend(2, 5);
+        friendshipGraph.addFriend(3, 5);
+        friendshipGraph.addFriend(4, 5);
+        friendshipGraph.addFriend(4, 6);
+        friendshipGraph.addFriend(4, 7);
+
+        assertArrayEquals(new int[]{5, 6, 7}, friendshipGraph.recommendFriends(1, 10, 100, 100, 1_000_000_000L),
+                "Рекомендации не совпадают");
+        assertArrayEquals(new int[]{5, 6}, friendshipGraph.recommendFriends(1, 2, 100, 100, 1_000_000_000L),
+                "Рекомендации не совпадают");
+        assertArrayEquals(new int[]{5, 6}, friendshipGraph.recommendFriends(1, 10, 100, 4, 1_000_000_000L),
+                "Бюджет обхода не соблюден");
+        assertArrayEquals(new int[]{5}, friendshipGraph.recommendFriends(1, 10, 2, 100, 1_000_000_000L),
+                "Ограничение ветвления не соблюдено");
+        assertArrayEquals(new int[0], friendshipGraph.recommendFriends(9, 10, 100, 100, 1_000_000_000L),
+                "Рекомендации для пользователя без друзей не пусты");
+    }
+
+    @Test
+    void shouldServeFriendsFromGraph() {
+        createUsers(4);
+        userService.addFriend(1, 3);
+        userService.addFriend(1, 4);
+        userService.addFriend(2, 3);
+        userService.addFriend(3, 1);
+        userService.deleteFriend(1, 4);
+
+        assertEquals(Set.of(3), userService.getUserById(1).getFriendsIds(), "Друзья не совпадают");
+        assertEquals(List.of(3), ids(userService.getAllFriendsById(1)), "Друзья не совпадают");
+        assertEquals(List.of(3), ids(userService.getCommonFriends(1, 2)), "Общие друзья не совпадают");
+        assertEquals(List.of(1), ids(userService.getAllFriendsById(3)), "Друзья не совпадают");
+        assertEquals(List.of(1), ids(userService.getFriendRecommendations(2, 10)), "Рекомендации не совпадают");
+    }
+
+    private void createUsers(int count) {
+        for (int i = 1; i <= count; i++) {
+            userStorage.createUser(User.builder().email("user" + i + "@mail.ru").login("login" + i).name("name")
+                    .birthday(LocalDate.of(1989, 7, 7)).build());
+        }
+    }
+
+    private List<Integer> ids(List<User> users) {
+        return users.stream().map(User::getId).collect(Collectors.toList());
+    }
+}
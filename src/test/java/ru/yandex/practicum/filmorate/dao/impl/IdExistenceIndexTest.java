@@ -0,0 +1,73 @@
+package ru.yandex.practicum.filmorate.dao.impl;
+
+import lombok.RequiredArgsConstructor;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.annotation.DirtiesContext;
+import ru.yandex.practicum.filmorate.dao.MpaDao;
+import ru.yandex.practicum.filmorate.exception.ObjectNotFoundException;
+import ru.yandex.practicum.filmorate.model.Film;
+import ru.yandex.practicum.filmorate.model.User;
+import ru.yandex.practicum.filmorate.service.impl.DbFilmServiceImpl;
+import ru.yandex.practicum.filmorate.service.impl.DbUserServiceImpl;
+
+import java.time.LocalDate;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+@AutoConfigureTestDatabase
+@RequiredArgsConstructor(onConstructor_ = @Autowired)
+@DirtiesContext(classMode = DirtiesContext.ClassMode.AFTER_EACH_TEST_METHOD)
+class IdExistenceIndexTest {
+
+    private final IdExistenceIndex idExistenceIndex;
+    private final FilmDbStorage filmStorage;
+    private final UserDbStorage userStorage;
+    private final DbFilmServiceImpl filmService;
+    private final DbUserServiceImpl userService;
+    private final MpaDao mpaDao;
+
+    @Test
+    void shouldFindIdsCreatedAfterLoading() {
+        createFilmAndUser();
+
+        assertTrue(idExistenceIndex.isFilmExists(1), "Фильм не найден");
+        assertTrue(idExistenceIndex.isUserExists(1), "Пользователь не найден");
+        assertFalse(idExistenceIndex.isFilmExists(2), "Найден несуществующий фильм");
+        assertFalse(idExistenceIndex.isUserExists(0), "Найден несуществующий пользователь");
+        assertFalse(idExistenceIndex.isUserExists(-1), "Найден несуществующий пользователь");
+    }
+
+    @Test
+    void shouldLoadIdsOnReload() {
+        createFilmAndUser();
+        idExistenceIndex.reload();
+        idExistenceIndex.addUser(1000);
+
+        assertTrue(idExistenceIndex.isFilmExists(1), "Фильм не загружен");
+        assertTrue(idExistenceIndex.isUserExists(1), "Пользователь не загружен");
+        assertTrue(idExistenceIndex.isUserExists(1000), "Пользователь не добавлен");
+        assertFalse(idExistenceIndex.isUserExists(999), "Найден несуществующий пользователь");
+    }
+
+    @Test
+    void shouldThrowNotFoundForUnknownIds() {
+        createFilmAndUser();
+
+        assertThrows(ObjectNotFoundException.class, () -> filmService.getFilmById(2), "Найден несуществующий фильм");
+        assertThrows(ObjectNotFoundException.class, () -> filmService.addLike(1, 2), "Лайк поставлен");
+        assertThrows(ObjectNotFoundException.class, () -> userService.getUserById(2),
+                "Найден несуществующий пользователь");
+        assertEquals("Film", filmService.getFilmById(1).getName(), "Фильм не найден");
+    }
+
+    private void createFilmAndUser() {
+        filmStorage.createFilm(Film.builder().name("Film").description("description")
+                .releaseDate(LocalDate.of(2000, 1, 1)).duration(100).mpa(mpaDao.getMpaById(1)).build());
+        userStorage.createUser(User.builder().email("email@mail.ru").login("login").name("name")
+                .birthday(LocalDate.of(1989, 7, 7)).build());
+    }
+}
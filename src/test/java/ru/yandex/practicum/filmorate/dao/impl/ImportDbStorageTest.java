@@ -0,0 +1,107 @@
+package ru.yandex.practicum.filmorate.dao.impl;
+
+import lombok.RequiredArgsConstructor;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.annotation.DirtiesContext;
+import ru.yandex.practicum.filmorate.dao.FriendshipDao;
+import ru.yandex.practicum.filmorate.model.Film;
+import ru.yandex.practicum.filmorate.model.ImportFormat;
+import ru.yandex.practicum.filmorate.model.ImportProgress;
+import ru.yandex.practicum.filmorate.model.User;
+import ru.yandex.practicum.filmorate.service.ImportService;
+
+import java.io.BufferedReader;
+import java.io.StringReader;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+@AutoConfigureTestDatabase
+@RequiredArgsConstructor(onConstructor_ = @Autowired)
+@DirtiesContext(classMode = DirtiesContext.ClassMode.AFTER_EACH_TEST_METHOD)
+class ImportDbStorageTest {
+
+    private final ImportService importService;
+    private final FilmDbStorage filmStorage;
+    private final UserDbStorage userStorage;
+    private final FriendshipDao friendshipDao;
+    private final PopularFilmsLeaderboard leaderboard;
+
+    @Test
+    void shouldImportFilmsFromCsv() {
+        ImportProgress progress = importService.importFilms(reader(
+                "name,description,releaseDate,duration,mpa,genres",
+                "Film1,\"description, with comma\",2000-01-01,100,1,1|2",
+                "Film2,description,2001-01-01,120,2,",
+                "Film1,\"description, with comma\",2000-01-01,100,1,1|2",
+                "Film3,description,1800-01-01,120,2,",
+                "Film4,description,2002-01-01,120,9,"), ImportFormat.CSV, 2);
+
+        assertEquals(5, progress.getProcessed(), "Неверное количество обработанных строк");
+        assertEquals(2, progress.getImported(), "Неверное количество загруженных строк");
+        assertEquals(3, progress.getRejected(), "Неверное количество отклоненных строк");
+        assertEquals(2, progress.getErrors().size(), "Неверное количество ошибок валидации");
+        List<Film> films = filmStorage.getAllFilms();
+        assertEquals(2, films.size(), "Фильмы не загружены");
+        assertEquals("description, with comma", films.get(0).getDescription(), "Описание не совпадает");
+        assertEquals(Set.of(1, 2), films.get(0).getGenres().stream().map(genre -> genre.getId())
+                .collect(Collectors.toSet()), "Жанры не совпадают");
+        assertEquals(List.of(1, 2), leaderboard.getTopFilmIds(10), "Фильмы не добавлены в рейтинг");
+    }
+
+    @Test
+    void shouldNotReturnExistingFilmsAsImported() {
+        importService.importFilms(reader(
+                "name,description,releaseDate,duration,mpa,genres",
+                "Film1,description,2000-01-01,100,1,"), ImportFormat.CSV, 10);
+        ImportProgress progress = importService.importFilms(reader(
+                "name,description,releaseDate,duration,mpa,genres",
+                "Film2,description,2001-01-01,120,2,3",
+                "Film1,description,2000-01-01,100,1,1"), ImportFormat.CSV, 10);
+
+        assertEquals(1, progress.getImported(), "Существующий фильм засчитан как загруженный");
+        assertEquals(Set.of(), filmStorage.getFilmById(1).getGenres(), "Жанры добавлены существующему фильму");
+        assertEquals(Set.of(3), filmStorage.getFilmById(2).getGenres().stream().map(genre -> genre.getId())
+                .collect(Collectors.toSet()), "Жанры не совпадают");
+    }
+
+    @Test
+    void shouldImportUsersLikesAndFriendshipsFromNdjson() {
+        importService.importFilms(reader("{\"name\":\"Film\",\"description\":\"description\"," +
+                "\"releaseDate\":\"2000-01-01\",\"duration\":100,\"mpa\":{\"id\":1}}"), ImportFormat.NDJSON, 10);
+        ImportProgress users = importService.importUsers(reader(
+                "{\"email\":\"first@mail.ru\",\"login\":\"first\",\"birthday\":\"1990-01-01\"}",
+                "{\"email\":\"second@mail.ru\",\"login\":\"second\",\"birthday\":\"1990-01-01\"}",
+                "{\"email\":\"first@mail.ru\",\"login\":\"third\",\"birthday\":\"1990-01-01\"}",
+                "not json"), ImportFormat.NDJSON, 10);
+        ImportProgress likes = importService.importLikes(reader(
+                "{\"filmId\":1,\"userId\":1}",
+                "{\"filmId\":1,\"userId\":2}",
+                "{\"filmId\":1,\"userId\":2}",
+                "{\"filmId\":5,\"userId\":2}"), ImportFormat.NDJSON, 10);
+        ImportProgress friendships = importService.importFriendships(reader(
+                "{\"userId\":1,\"friendId\":2}",
+                "{\"userId\":2,\"friendId\":1}",
+                "{\"userId\":1,\"friendId\":1}"), ImportFormat.NDJSON, 10);
+
+        assertEquals(2, users.getImported(), "Неверное количество загруженных пользователей");
+        assertEquals(2, users.getRejected(), "Неверное количество отклоненных пользователей");
+        assertEquals("first", userStorage.getUserById(1).getName(), "Имя не заполнено логином");
+        assertEquals(2, likes.getImported(), "Неверное количество загруженных лайков");
+        assertEquals(Set.of(1, 2), filmStorage.getFilmById(1).getLikes(), "Лайки не совпадают");
+        assertEquals(2, friendships.getImported(), "Неверное количество загруженных заявок в друзья");
+        assertEquals(List.of(2), friendshipDao.getAllFriendsById(1).stream().map(User::getId)
+                .collect(Collectors.toList()), "Друзья не совпадают");
+        assertEquals(4, importService.getImports().size(), "Импорты не отслеживаются");
+    }
+
+    private BufferedReader reader(String... lines) {
+        return new BufferedReader(new StringReader(String.join("\n", lines)));
+    }
+}
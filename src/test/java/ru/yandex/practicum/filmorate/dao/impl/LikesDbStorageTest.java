@@ -5,6 +5,7 @@ import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.test.annotation.DirtiesContext;
 import ru.yandex.practicum.filmorate.dao.LikesDao;
 import ru.yandex.practicum.filmorate.dao.MpaDao;
@@ -21,13 +22,14 @@ import static org.assertj.core.api.AssertionsForClassTypes.assertThat;
 @SpringBootTest
 @AutoConfigureTestDatabase
 @RequiredArgsConstructor(onConstructor_ = @Autowired)
-@DirtiesContext(classMode = DirtiesContext.ClassMode.BEFORE_EACH_TEST_METHOD)
+@DirtiesContext(classMode = DirtiesContext.ClassMode.AFTER_EACH_TEST_METHOD)
 class LikesDbStorageTest {
 
     private final FilmDbStorage filmStorage;
     private final UserDbStorage userStorage;
     private final LikesDao likesDao;
     private final MpaDao mpaDao;
+    private final JdbcTemplate jdbcTemplate;
 
     @Test
     void shouldAddLikeToFilm() {
@@ -55,6 +57,22 @@ class LikesDbStorageTest {
         assertEquals(0, likes.size(), "Списки лайков не совпадают");
     }
 
+    @Test
+    void shouldGetLikesByFilmIds() {
+        filmStorage.createFilm(createFirstFilm());
+        filmStorage.createFilm(createSecondFilm());
+        userStorage.createUser(createFirstUser());
+        userStorage.createUser(createSecondUser());
+        likesDao.addLikeToFilm(1, 1);
+        likesDao.addLikeToFilm(2, 1);
+        likesDao.addLikeToFilm(2, 2);
+
+        Map<Integer, List<Integer>> likes = likesDao.getLikesByFilmIds(List.of(1, 2));
+
+        assertEquals(List.of(1), likes.get(1), "Списки лайков не совпадают");
+        assertEquals(Set.of(1, 2), new HashSet<>(likes.get(2)), "Списки лайков не совпадают");
+    }
+
     @Test
     void shouldGetPopularFilm() {
         Film firstFilm = createFirstFilm();
@@ -77,6 +95,19 @@ class LikesDbStorageTest {
         assertEquals(testList, popularFilms, "Списки не равны");
     }
 
+    @Test
+    void shouldRecalculateLikesCount() {
+        Film testFilm1 = filmStorage.createFilm(createFirstFilm());
+        Film testFilm2 = filmStorage.createFilm(createSecondFilm());
+        userStorage.createUser(createFirstUser());
+        likesDao.addLikeToFilm(2, 1);
+        jdbcTemplate.update("update films set likes_count = 5 where film_id = 1");
+
+        assertEquals(List.of(testFilm1, testFilm2), likesDao.getPopularFilm(10), "Списки не равны");
+        assertEquals(1, likesDao.recalculateLikesCount(), "Пересчитано неверное количество фильмов");
+        assertEquals(List.of(testFilm2, testFilm1), likesDao.getPopularFilm(10), "Списки не равны");
+    }
+
     @Test
     void shouldGetPopularFilmsWithoutFilms() {
         List<Film> popularFilms = likesDao.getPopularFilm(10);
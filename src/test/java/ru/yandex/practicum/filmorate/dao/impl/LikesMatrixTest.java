@@ -0,0 +1,79 @@
+package ru.yandex.practicum.filmorate.dao.impl;
+
+import lombok.RequiredArgsConstructor;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.annotation.DirtiesContext;
+import ru.yandex.practicum.filmorate.dao.LikesDao;
+import ru.yandex.practicum.filmorate.dao.MpaDao;
+import ru.yandex.practicum.filmorate.model.Film;
+import ru.yandex.practicum.filmorate.model.User;
+import ru.yandex.practicum.filmorate.service.impl.DbFilmServiceImpl;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+@AutoConfigureTestDatabase
+@RequiredArgsConstructor(onConstructor_ = @Autowired)
+@DirtiesContext(classMode = DirtiesContext.ClassMode.AFTER_EACH_TEST_METHOD)
+class LikesMatrixTest {
+
+    private final LikesMatrix likesMatrix;
+    private final LikesDao likesDao;
+    private final FilmDbStorage filmStorage;
+    private final UserDbStorage userStorage;
+    private final MpaDao mpaDao;
+    private final DbFilmServiceImpl filmService;
+
+    @Test
+    void shouldRecommendFilmsLikedBySimilarUsers() {
+        likesMatrix.addLike(1, 1);
+        likesMatrix.addLike(2, 1);
+        likesMatrix.addLike(1, 2);
+        likesMatrix.addLike(2, 2);
+        likesMatrix.addLike(3, 2);
+        likesMatrix.addLike(4, 2);
+        likesMatrix.addLike(1, 3);
+        likesMatrix.addLike(4, 3);
+        likesMatrix.addLike(5, 3);
+        likesMatrix.addLike(6, 4);
+
+        assertArrayEquals(new int[]{4, 3, 5}, likesMatrix.recommendFilms(1, 10, 10, 100),
+                "Рекомендации не совпадают");
+        assertArrayEquals(new int[]{4}, likesMatrix.recommendFilms(1, 1, 10, 100), "Рекомендации не совпадают");
+        assertArrayEquals(new int[]{3, 4}, likesMatrix.recommendFilms(1, 10, 1, 100),
+                "Ограничение числа соседей не соблюдено");
+        assertArrayEquals(new int[0], likesMatrix.recommendFilms(5, 10, 10, 100),
+                "Рекомендации для пользователя без лайков не пусты");
+
+        likesMatrix.deleteLike(4, 2);
+        likesMatrix.deleteLike(4, 3);
+
+        assertArrayEquals(new int[]{3, 5}, likesMatrix.recommendFilms(1, 10, 10, 100),
+                "Рекомендации не обновлены после удаления лайков");
+    }
+
+    @Test
+    void shouldLoadMatrixFromDbAndServeRecommendations() {
+        for (int i = 1; i <= 3; i++) {
+            filmStorage.createFilm(Film.builder().name("Film" + i).description("description")
+                    .releaseDate(LocalDate.of(2000 + i, 1, 1)).duration(100).mpa(mpaDao.getMpaById(1)).build());
+            userStorage.createUser(User.builder().email("user" + i + "@mail.ru").login("login" + i).name("name")
+                    .birthday(LocalDate.of(1989, 7, 7)).build());
+        }
+        likesDao.addLikeToFilm(1, 1);
+        likesDao.addLikeToFilm(1, 2);
+        likesDao.addLikeToFilm(2, 2);
+        likesMatrix.reload();
+        filmService.addLike(3, 2);
+
+        assertEquals(List.of(2, 3), filmService.getRecommendations(1, 10).stream().map(Film::getId)
+                .collect(Collectors.toList()), "Рекомендации не совпадают");
+    }
+}
@@ -0,0 +1,126 @@
+package ru.yandex.practicum.filmorate.dao.impl;
+
+import lombok.RequiredArgsConstructor;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.annotation.DirtiesContext;
+import ru.yandex.practicum.filmorate.dao.LikesDao;
+import ru.yandex.practicum.filmorate.dao.MpaDao;
+import ru.yandex.practicum.filmorate.exception.ValidationException;
+import ru.yandex.practicum.filmorate.job.LikesCountReconciliationJob;
+import ru.yandex.practicum.filmorate.model.Film;
+import ru.yandex.practicum.filmorate.model.User;
+import ru.yandex.practicum.filmorate.service.impl.DbFilmServiceImpl;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest(properties = {
+        "filmorate.likes.write-behind.enabled=true",
+        "filmorate.likes.write-behind.capacity=2",
+        "filmorate.likes.write-behind.flush-interval-ms=3600000"
+})
+@AutoConfigureTestDatabase
+@RequiredArgsConstructor(onConstructor_ = @Autowired)
+@DirtiesContext(classMode = DirtiesContext.ClassMode.AFTER_EACH_TEST_METHOD)
+class LikesWriteBehindQueueTest {
+
+    private final LikesWriteBehindQueue writeBehindQueue;
+    private final DbFilmServiceImpl filmService;
+    private final FilmDbStorage filmStorage;
+    private final UserDbStorage userStorage;
+    private final LikesDao likesDao;
+    private final MpaDao mpaDao;
+    private final PopularFilmsLeaderboard leaderboard;
+    private final IdExistenceIndex idExistenceIndex;
+    private final LikesCountReconciliationJob reconciliationJob;
+
+    @Test
+    void shouldWriteLikesOnFlush() {
+        createFilmsAndUsers();
+        filmService.addLike(1, 1);
+        filmService.addLike(1, 2);
+
+        assertTrue(likesDao.getFilmsLikes(1).isEmpty(), "Лайки записаны до сброса очереди");
+        assertEquals(List.of(1), filmService.getPopularFilm(1).stream().map(Film::getId).collect(Collectors.toList()),
+                "Рейтинг не обновлен до сброса очереди");
+        assertThrows(ValidationException.class, () -> filmService.addLike(1, 1), "Повторный лайк принят");
+
+        writeBehindQueue.flush();
+
+        assertEquals(2, likesDao.getFilmsLikes(1).size(), "Лайки не записаны после сброса очереди");
+        assertEquals(Map.of(1, 2, 2, 0), likesDao.getLikesCountByFilmId(), "Счетчик лайков не обновлен");
+        assertEquals(2, filmService.getFilmById(1).getLikes().size(), "Кэш фильма не обновлен");
+    }
+
+    @Test
+    void shouldCoalesceChangesOfSameLike() {
+        createFilmsAndUsers();
+        filmService.addLike(1, 1);
+        filmService.deleteLike(1, 1);
+        filmService.addLike(1, 1);
+        filmService.deleteLike(1, 1);
+
+        assertEquals(1, writeBehindQueue.getPendingCount(), "Изменения одного лайка не объединены");
+
+        writeBehindQueue.flush();
+
+        assertTrue(likesDao.getFilmsLikes(1).isEmpty(), "Удаленный лайк записан");
+    }
+
+    @Test
+    void shouldFlushInRequestThreadWhenQueueIsFull() {
+        createFilmsAndUsers();
+        filmService.addLike(1, 1);
+        filmService.addLike(1, 2);
+        filmService.addLike(2, 1);
+
+        assertEquals(1, writeBehindQueue.getPendingCount(), "Очередь превысила допустимый размер");
+        assertEquals(2, likesDao.getFilmsLikes(1).size(), "Очередь не сброшена при переполнении");
+    }
+
+    @Test
+    void shouldKeepQueuedLikesInRatingDuringReconciliation() throws Exception {
+        createFilmsAndUsers();
+        for (int i = 3; i <= 200; i++) {
+            userStorage.createUser(User.builder().email("user" + i + "@mail.ru").login("login" + i).name("name")
+                    .birthday(LocalDate.of(1989, 7, 7)).build());
+        }
+        idExistenceIndex.reload();
+        AtomicBoolean liking = new AtomicBoolean(true);
+        Thread reconciler = new Thread(() -> {
+            while (liking.get()) {
+                reconciliationJob.reconcile();
+            }
+        });
+
+        reconciler.start();
+        try {
+            for (int userId = 1; userId <= 200; userId++) {
+                filmService.addLike(1, userId);
+            }
+        } finally {
+            liking.set(false);
+            reconciler.join();
+        }
+        writeBehindQueue.flush();
+
+        assertEquals(0, leaderboard.verify(likesDao.getLikesCountByFilmId()), "Рейтинг расходится с БД");
+    }
+
+    private void createFilmsAndUsers() {
+        for (int i = 1; i <= 2; i++) {
+            filmStorage.createFilm(Film.builder().name("Film" + i).description("description")
+                    .releaseDate(LocalDate.of(2000 + i, 1, 1)).duration(100).mpa(mpaDao.getMpaById(1)).build());
+            userStorage.createUser(User.builder().email("user" + i + "@mail.ru").login("login" + i).name("name")
+                    .birthday(LocalDate.of(1989, 7, 7)).build());
+        }
+    }
+}
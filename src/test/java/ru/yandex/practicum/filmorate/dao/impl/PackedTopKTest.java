@@ -0,0 +1,41 @@
+package ru.yandex.practicum.filmorate.dao.impl;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.SplittableRandom;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PackedTopKTest {
+
+    @Test
+    void shouldOrderByScoreAndThenById() {
+        long[] values = {PackedTopK.pack(1, 5), PackedTopK.pack(3, 2), PackedTopK.pack(3, 1), PackedTopK.pack(0, 4)};
+
+        long[] top = PackedTopK.top(values, values.length, 3);
+
+        assertArrayEquals(new int[]{1, 2, 5}, Arrays.stream(top).mapToInt(PackedTopK::unpackId).toArray(),
+                "Порядок не совпадает");
+        assertEquals(3, PackedTopK.unpackScore(top[0]), "Оценка не совпадает");
+    }
+
+    @Test
+    void shouldSelectSameTopInParallel() {
+        SplittableRandom random = new SplittableRandom(42);
+        long[] values = new long[500_000];
+        for (int i = 0; i < values.length; i++) {
+            values[i] = PackedTopK.pack(random.nextInt(1000), i + 1);
+        }
+        long[] sorted = values.clone();
+        Arrays.sort(sorted);
+        long[] expected = new long[100];
+        for (int i = 0; i < expected.length; i++) {
+            expected[i] = sorted[sorted.length - 1 - i];
+        }
+
+        assertArrayEquals(expected, PackedTopK.top(values, values.length, 100), "Последовательный выбор неверен");
+        assertArrayEquals(expected, PackedTopK.topParallel(values, values.length, 100), "Параллельный выбор неверен");
+        assertEquals(10, PackedTopK.topParallel(values, 10, 100).length, "Выбрано больше элементов, чем есть");
+    }
+}
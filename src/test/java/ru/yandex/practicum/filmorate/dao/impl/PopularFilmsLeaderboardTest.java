@@ -0,0 +1,114 @@
+package ru.yandex.practicum.filmorate.dao.impl;
+
+import lombok.RequiredArgsConstructor;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.annotation.DirtiesContext;
+import ru.yandex.practicum.filmorate.dao.LikesDao;
+import ru.yandex.practicum.filmorate.dao.MpaDao;
+import ru.yandex.practicum.filmorate.model.Film;
+import ru.yandex.practicum.filmorate.model.User;
+import ru.yandex.practicum.filmorate.service.impl.DbFilmServiceImpl;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+@AutoConfigureTestDatabase
+@RequiredArgsConstructor(onConstructor_ = @Autowired)
+@DirtiesContext(classMode = DirtiesContext.ClassMode.AFTER_EACH_TEST_METHOD)
+class PopularFilmsLeaderboardTest {
+
+    private final FilmDbStorage filmStorage;
+    private final UserDbStorage userStorage;
+    private final LikesDao likesDao;
+    private final MpaDao mpaDao;
+    private final PopularFilmsLeaderboard leaderboard;
+    private final DbFilmServiceImpl filmService;
+    private final IdExistenceIndex idExistenceIndex;
+
+    @Test
+    void shouldLoadRatingFromDb() {
+        createFilms();
+        likesDao.addLikeToFilm(2, 1);
+        leaderboard.reload();
+
+        assertEquals(List.of(2, 1, 3), leaderboard.getTopFilmIds(10), "Рейтинг не совпадает");
+        assertEquals(List.of(2), leaderboard.getTopFilmIds(1), "Рейтинг не совпадает");
+    }
+
+    @Test
+    void shouldUpdateRatingIncrementally() {
+        createFilms();
+        leaderboard.reload();
+
+        leaderboard.addLike(3);
+        leaderboard.addLike(3);
+        leaderboard.addLike(2);
+
+        assertEquals(List.of(3, 2, 1), leaderboard.getTopFilmIds(10), "Рейтинг не совпадает");
+
+        leaderboard.deleteLike(3);
+        leaderboard.deleteLike(3);
+
+        assertEquals(List.of(2, 1, 3), leaderboard.getTopFilmIds(10), "Рейтинг не совпадает");
+    }
+
+    @Test
+    void shouldFindMismatchWithDb() {
+        createFilms();
+        leaderboard.reload();
+        likesDao.addLikeToFilm(1, 1);
+
+        assertEquals(1, leaderboard.verify(likesDao.getLikesCountByFilmId()), "Расхождение не найдено");
+
+        leaderboard.addLike(1);
+
+        assertEquals(0, leaderboard.verify(likesDao.getLikesCountByFilmId()), "Найдено лишнее расхождение");
+        assertEquals(1, leaderboard.verify(Map.of(1, 1, 2, 0)), "Расхождение не найдено");
+    }
+
+    @Test
+    void shouldNotCountLikeTwiceWhenReloadedDuringLike() throws Exception {
+        createFilms();
+        for (int i = 2; i <= 200; i++) {
+            userStorage.createUser(User.builder().email("email" + i + "@mail.ru").login("login" + i).name("name")
+                    .birthday(LocalDate.of(1989, 7, 7)).build());
+        }
+        idExistenceIndex.reload();
+        leaderboard.reload();
+        AtomicBoolean liking = new AtomicBoolean(true);
+        Thread reloader = new Thread(() -> {
+            while (liking.get()) {
+                leaderboard.reload();
+            }
+        });
+
+        reloader.start();
+        try {
+            for (int userId = 1; userId <= 200; userId++) {
+                filmService.addLike(1, userId);
+            }
+        } finally {
+            liking.set(false);
+            reloader.join();
+        }
+
+        assertEquals(0, leaderboard.verify(likesDao.getLikesCountByFilmId()), "Рейтинг расходится с БД");
+    }
+
+    private void createFilms() {
+        for (int i = 1; i <= 3; i++) {
+            filmStorage.createFilm(Film.builder().name("Film" + i).description("description")
+                    .releaseDate(LocalDate.of(2000 + i, 1, 1)).duration(100).mpa(mpaDao.getMpaById(1)).build());
+        }
+        userStorage.createUser(User.builder().email("email@mail.ru").login("login").name("name")
+                .birthday(LocalDate.of(1989, 7, 7)).build());
+    }
+}
@@ -0,0 +1,46 @@
+package ru.yandex.practicum.filmorate.dao.impl;
+
+import lombok.RequiredArgsConstructor;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.annotation.DirtiesContext;
+import ru.yandex.practicum.filmorate.exception.ObjectNotFoundException;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+@AutoConfigureTestDatabase
+@RequiredArgsConstructor(onConstructor_ = @Autowired)
+@DirtiesContext(classMode = DirtiesContext.ClassMode.AFTER_EACH_TEST_METHOD)
+class ReferenceDataRegistryTest {
+
+    private final ReferenceDataRegistry referenceData;
+    private final GenreDbStorage genreDao;
+    private final JdbcTemplate jdbcTemplate;
+
+    @Test
+    void shouldResolveReferenceDataById() {
+        assertEquals(6, referenceData.getAllGenres().size(), "Список жанров не совпадает с требуемым");
+        assertEquals(5, referenceData.getAllMpa().size(), "Список Mpa не совпадает с требуемым");
+        assertEquals("Комедия", referenceData.getGenre(1).getName(), "Название жанра не совпадает");
+        assertEquals("G", referenceData.getMpa(1).getName(), "Название Mpa не совпадает");
+        assertFalse(referenceData.isGenreKnown(0), "Найден несуществующий жанр");
+        assertFalse(referenceData.isGenreKnown(7), "Найден несуществующий жанр");
+        assertFalse(referenceData.isMpaKnown(6), "Найден несуществующий Mpa");
+    }
+
+    @Test
+    void shouldSeeNewGenreOnlyAfterReload() {
+        jdbcTemplate.update("insert into genres (genre_id, name) values (7, 'Вестерн')");
+
+        assertThrows(ObjectNotFoundException.class, () -> genreDao.getGenreById(7),
+                "Жанр найден до перезагрузки справочника");
+
+        referenceData.reload();
+
+        assertEquals("Вестерн", genreDao.getGenreById(7).getName(), "Жанр не найден после перезагрузки");
+    }
+}
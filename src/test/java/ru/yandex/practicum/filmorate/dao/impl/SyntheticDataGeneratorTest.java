@@ -0,0 +1,82 @@
+package ru.yandex.practicum.filmorate.dao.impl;
+
+import lombok.RequiredArgsConstructor;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.annotation.DirtiesContext;
+import ru.yandex.practicum.filmorate.model.GeneratorSettings;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+@AutoConfigureTestDatabase
+@RequiredArgsConstructor(onConstructor_ = @Autowired)
+@DirtiesContext(classMode = DirtiesContext.ClassMode.AFTER_EACH_TEST_METHOD)
+class SyntheticDataGeneratorTest {
+
+    private static final int FILMS = 200;
+    private static final int USERS = 300;
+
+    private final SyntheticDataGenerator generator;
+    private final JdbcTemplate jdbcTemplate;
+
+    @Test
+    void shouldGenerateConsistentData() {
+        generator.generate(settings(1));
+
+        assertEquals(FILMS, count("select count(*) from films"), "Неверное количество фильмов");
+        assertEquals(USERS, count("select count(*) from users"), "Неверное количество пользователей");
+        assertTrue(count("select count(*) from likes") > 0, "Лайки не сгенерированы");
+        assertTrue(count("select count(*) from friendship") > 0, "Друзья не сгенерированы");
+        assertEquals(0, count("select count(*) from films f where likes_count <> " +
+                "(select count(*) from likes l where l.film_id = f.film_id)"), "Счетчики лайков не совпадают");
+        assertEquals(0, count("select count(*) from friendship where user_id = friend_id"),
+                "Пользователь добавлен в друзья к самому себе");
+        assertEquals(0, count("select count(*) from friendship f where status <> (exists(select 1 from friendship r " +
+                "where r.user_id = f.friend_id and r.friend_id = f.user_id))"), "Неверный статус дружбы");
+        assertTrue(count("select likes_count from films where film_id = 1")
+                > count("select likes_count from films where film_id = " + FILMS), "Нет перекоса популярности");
+    }
+
+    @Test
+    void shouldGenerateSameDataForSameSeed() {
+        generator.generate(settings(7));
+        generator.generate(settings(7));
+
+        assertEquals(relativeLikes(0), relativeLikes(1), "Лайки различаются при одинаковом зерне");
+        assertEquals(relativeFriendships(0), relativeFriendships(1), "Друзья различаются при одинаковом зерне");
+        assertEquals(relativeFilms(0), relativeFilms(1), "Фильмы различаются при одинаковом зерне");
+    }
+
+    private GeneratorSettings settings(long seed) {
+        return GeneratorSettings.builder().seed(seed).films(FILMS).users(USERS).likesPerUser(5).friendsPerUser(3)
+                .popularityExponent(1.0).batchSize(64).build();
+    }
+
+    private int count(String sql) {
+        return jdbcTemplate.queryForObject(sql, Integer.class);
+    }
+
+    private List<String> relativeLikes(int generation) {
+        return jdbcTemplate.queryForList("select (film_id - ?) || ':' || (user_id - ?) from likes " +
+                        "where user_id > ? and user_id <= ? order by 1", String.class, generation * FILMS,
+                generation * USERS, generation * USERS, (generation + 1) * USERS);
+    }
+
+    private List<String> relativeFilms(int generation) {
+        return jdbcTemplate.queryForList("select release_date || ':' || duration || ':' || mpa_id from films " +
+                "where film_id > ? and film_id <= ? order by film_id", String.class, generation * FILMS,
+                (generation + 1) * FILMS);
+    }
+
+    private List<String> relativeFriendships(int generation) {
+        return jdbcTemplate.queryForList("select (user_id - ?) || ':' || (friend_id - ?) || ':' || status " +
+                        "from friendship where user_id > ? and user_id <= ? order by 1", String.class,
+                generation * USERS, generation * USERS, generation * USERS, (generation + 1) * USERS);
+    }
+}
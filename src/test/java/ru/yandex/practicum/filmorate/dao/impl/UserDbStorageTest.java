@@ -5,7 +5,10 @@ import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.test.annotation.DirtiesContext;
+import ru.yandex.practicum.filmorate.exception.ValidationException;
 import ru.yandex.practicum.filmorate.model.User;
 
 import java.time.LocalDate;
@@ -18,10 +21,11 @@ import static org.assertj.core.api.AssertionsForClassTypes.assertThat;
 @SpringBootTest
 @AutoConfigureTestDatabase
 @RequiredArgsConstructor(onConstructor_ = @Autowired)
-@DirtiesContext(classMode = DirtiesContext.ClassMode.BEFORE_EACH_TEST_METHOD)
+@DirtiesContext(classMode = DirtiesContext.ClassMode.AFTER_EACH_TEST_METHOD)
 class UserDbStorageTest {
 
     private final UserDbStorage userStorage;
+    private final JdbcTemplate jdbcTemplate;
 
     @Test
     void shouldCreateUserWithId() {
@@ -178,6 +182,48 @@ class UserDbStorageTest {
         assertEquals(2, allUsers.size(), "Список пользователей не соответствует истине");
     }
 
+    @Test
+    void shouldGetUsersPageWithLimit() {
+        User user = createTestUser();
+        User user1 = userForUpdate();
+        userStorage.createUser(user);
+        userStorage.createUser(user1);
+
+        List<User> page = userStorage.getUsers(0, 1);
+
+        assertEquals(1, page.size(), "Страница пользователей не соответствует истине");
+        assertEquals(1, page.get(0).getId(), "Страница пользователей не соответствует истине");
+    }
+
+    @Test
+    void shouldFindUsedEmailAndLogin() {
+        userStorage.createUser(createTestUser());
+
+        assertTrue(userStorage.isEmailUsed("email@mail.ru", 0), "Email не найден");
+        assertTrue(userStorage.isLoginUsed("login", 0), "Логин не найден");
+        assertFalse(userStorage.isEmailUsed("email@mail.ru", 1), "Email найден у того же пользователя");
+        assertFalse(userStorage.isLoginUsed("other", 0), "Найден несуществующий логин");
+    }
+
+    @Test
+    void shouldNotCreateUserWithSameEmail() {
+        userStorage.createUser(createTestUser());
+        User user = userForUpdate();
+        user.setEmail("email@mail.ru");
+
+        assertThrows(ValidationException.class, () -> userStorage.createUser(user),
+                "Создан пользователь с существующим email");
+    }
+
+    @Test
+    void shouldNotReportPrimaryKeyViolationAsDuplicateUser() {
+        userStorage.createUser(createTestUser());
+        jdbcTemplate.execute("alter table users alter column user_id restart with 1");
+
+        assertThrows(DuplicateKeyException.class, () -> userStorage.createUser(userForUpdate()),
+                "Нарушение первичного ключа выдано за дубликат пользователя");
+    }
+
     private User createTestUser() {
         return User.builder().id(1).email("email@mail.ru").login("login").name("name")
                 .birthday(LocalDate.of(1989, 7, 7)).build();
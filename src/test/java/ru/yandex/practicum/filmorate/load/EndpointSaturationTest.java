@@ -0,0 +1,75 @@
+package ru.yandex.practicum.filmorate.load;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.web.server.LocalServerPort;
+import org.springframework.test.annotation.DirtiesContext;
+import ru.yandex.practicum.filmorate.config.ConnectionPoolMetrics;
+import ru.yandex.practicum.filmorate.model.PoolStatistics;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@Tag("load")
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+        "spring.datasource.url=jdbc:h2:mem:loadtest;DB_CLOSE_DELAY=-1",
+        "filmorate.generator.enabled=true",
+        "filmorate.generator.seed=${loadtest.seed:42}",
+        "filmorate.generator.films=${loadtest.films:500}",
+        "filmorate.generator.users=${loadtest.users:500}",
+        "filmorate.generator.likes-per-user=5",
+        "filmorate.generator.friends-per-user=5",
+        "logging.level.ru.yandex.practicum.filmorate=WARN",
+        "logging.level.ru.yandex.practicum.filmorate.load=INFO"
+})
+@RequiredArgsConstructor(onConstructor_ = @Autowired)
+@DirtiesContext
+@Slf4j
+class EndpointSaturationTest {
+
+    private static final int FILMS = Integer.getInteger("loadtest.films", 500);
+    private static final int USERS = Integer.getInteger("loadtest.users", 500);
+    private static final int MAX_CONCURRENCY = Integer.getInteger("loadtest.max-concurrency", 64);
+    private static final Duration STEP_DURATION = Duration.ofSeconds(Integer.getInteger("loadtest.step-seconds", 5));
+    private static final double WRITE_RATIO = Double.parseDouble(System.getProperty("loadtest.write-ratio", "0"));
+    private static final long SEED = Long.getLong("loadtest.seed", 42);
+    private static final double MIN_THROUGHPUT_GAIN = 1.1;
+
+    private final ConnectionPoolMetrics connectionPoolMetrics;
+    @LocalServerPort
+    private int port;
+
+    @Test
+    void shouldFindSaturationPointOfFilmAndUserEndpoints() throws Exception {
+        LoadDriver driver = new LoadDriver("http://localhost:" + port, FILMS, USERS, WRITE_RATIO, SEED);
+        double bestThroughput = 0;
+        int saturationConcurrency = 0;
+        for (int concurrency = 1; concurrency <= MAX_CONCURRENCY; concurrency *= 2) {
+            LoadDriver.LoadReport report = driver.run(concurrency, STEP_DURATION);
+            PoolStatistics pool = connectionPoolMetrics.getStatistics();
+            report.log();
+            log.info("Ожидают соединения: {}, среднее получение соединения: {} мс", pool.getPending(),
+                    pool.getAcquireTimeMeanMillis());
+            assertEquals(0, report.getServerErrors(), "Сервер вернул ошибки при нагрузке в " + concurrency +
+                    " потоков");
+            double throughput = report.getThroughput();
+            if (saturationConcurrency == 0 && concurrency > 1 && throughput < bestThroughput * MIN_THROUGHPUT_GAIN) {
+                saturationConcurrency = concurrency / 2;
+            }
+            bestThroughput = Math.max(bestThroughput, throughput);
+        }
+        if (saturationConcurrency == 0) {
+            log.info("Насыщение не достигнуто до {} потоков, максимум {} запросов/с", MAX_CONCURRENCY,
+                    Math.round(bestThroughput));
+        } else {
+            log.info("Насыщение при {} потоках, максимум {} запросов/с", saturationConcurrency,
+                    Math.round(bestThroughput));
+        }
+        assertTrue(bestThroughput > 0, "Не выполнено ни одного запроса");
+    }
+}
@@ -0,0 +1,201 @@
+package ru.yandex.practicum.filmorate.load;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+@Slf4j
+public class LoadDriver {
+
+    private final HttpClient client;
+    private final String baseUrl;
+    private final int films;
+    private final int users;
+    private final double writeRatio;
+    private final long seed;
+
+    public LoadDriver(String baseUrl, int films, int users, double writeRatio, long seed) {
+        this.client = HttpClient.newHttpClient();
+        this.baseUrl = baseUrl;
+        this.films = films;
+        this.users = users;
+        this.writeRatio = writeRatio;
+        this.seed = seed;
+    }
+
+    public static void main(String[] args) throws Exception {
+        Map<String, String> options = new HashMap<>();
+        for (String arg : args) {
+            String[] option = arg.replaceFirst("^--", "").split("=", 2);
+            options.put(option[0], option.length == 2 ? option[1] : "true");
+        }
+        LoadDriver driver = new LoadDriver(options.getOrDefault("url", "http://localhost:8080"),
+                Integer.parseInt(options.getOrDefault("films", "100000")),
+                Integer.parseInt(options.getOrDefault("users", "1000000")),
+                Double.parseDouble(options.getOrDefault("write-ratio", "0.1")),
+                Long.parseLong(options.getOrDefault("seed", "42")));
+        LoadReport report = driver.run(Integer.parseInt(options.getOrDefault("threads", "16")),
+                Duration.ofSeconds(Long.parseLong(options.getOrDefault("seconds", "30"))));
+        report.log();
+    }
+
+    public LoadReport run(int concurrency, Duration duration) throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(concurrency);
+        long deadline = System.nanoTime() + duration.toNanos();
+        List<Future<Map<Operation, Recorder>>> futures = new ArrayList<>(concurrency);
+        for (int i = 0; i < concurrency; i++) {
+            SplittableRandom random = new SplittableRandom(seed + i);
+            futures.add(executor.submit(() -> replay(random, deadline)));
+        }
+        Map<Operation, Recorder> total = new EnumMap<>(Operation.class);
+        try {
+            for (Future<Map<Operation, Recorder>> future : futures) {
+                future.get().forEach((operation, recorder) ->
+                        total.computeIfAbsent(operation, o -> new Recorder()).merge(recorder));
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+        return new LoadReport(concurrency, duration, total);
+    }
+
+    private Map<Operation, Recorder> replay(SplittableRandom random, long deadline) throws Exception {
+        Map<Operation, Recorder> recorders = new EnumMap<>(Operation.class);
+        while (System.nanoTime() < deadline) {
+            Operation operation = random.nextDouble() < writeRatio
+                    ? Operation.WRITES[random.nextInt(Operation.WRITES.length)]
+                    : Operation.READS[random.nextInt(Operation.READS.length)];
+            HttpRequest request = operation.request(baseUrl, randomId(random, films), randomId(random, users),
+                    randomId(random, users));
+            long start = System.nanoTime();
+            HttpResponse<Void> response = client.send(request, HttpResponse.BodyHandlers.discarding());
+            recorders.computeIfAbsent(operation, o -> new Recorder())
+                    .record(System.nanoTime() - start, response.statusCode());
+        }
+        return recorders;
+    }
+
+    private int randomId(SplittableRandom random, int bound) {
+        return random.nextInt(bound) + 1;
+    }
+
+    public enum Operation {
+        GET_FILM("GET", "/films/%1$d"),
+        GET_USER("GET", "/users/%2$d"),
+        GET_POPULAR("GET", "/films/popular?count=10"),
+        GET_FRIENDS("GET", "/users/%2$d/friends"),
+        GET_COMMON_FRIENDS("GET", "/users/%2$d/friends/common/%3$d"),
+        GET_RECOMMENDATIONS("GET", "/users/%2$d/recommendations"),
+        PUT_LIKE("PUT", "/films/%1$d/like/%2$d"),
+        DELETE_LIKE("DELETE", "/films/%1$d/like/%2$d"),
+        PUT_FRIEND("PUT", "/users/%2$d/friends/%3$d");
+
+        private static final Operation[] READS = {GET_FILM, GET_USER, GET_POPULAR, GET_FRIENDS, GET_COMMON_FRIENDS,
+                GET_RECOMMENDATIONS};
+        private static final Operation[] WRITES = {PUT_LIKE, DELETE_LIKE, PUT_FRIEND};
+
+        private final String method;
+        private final String path;
+
+        Operation(String method, String path) {
+            this.method = method;
+            this.path = path;
+        }
+
+        private HttpRequest request(String baseUrl, int filmId, int userId, int otherUserId) {
+            return HttpRequest.newBuilder(URI.create(baseUrl + String.format(path, filmId, userId, otherUserId)))
+                    .method(method, HttpRequest.BodyPublishers.noBody()).build();
+        }
+    }
+
+    public static class LoadReport {
+        private final int concurrency;
+        private final Duration duration;
+        private final Map<Operation, Recorder> recorders;
+
+        private LoadReport(int concurrency, Duration duration, Map<Operation, Recorder> recorders) {
+            this.concurrency = concurrency;
+            this.duration = duration;
+            this.recorders = recorders;
+        }
+
+        public double getThroughput() {
+            return getRequests() / (duration.toNanos() / 1e9);
+        }
+
+        public long getRequests() {
+            return recorders.values().stream().mapToLong(recorder -> recorder.count).sum();
+        }
+
+        public long getServerErrors() {
+            return recorders.values().stream().mapToLong(recorder -> recorder.serverErrors).sum();
+        }
+
+        public double getPercentileMillis(double percentile) {
+            Recorder all = new Recorder();
+            recorders.values().forEach(all::merge);
+            return all.percentileMillis(percentile);
+        }
+
+        public void log() {
+            log.info("Потоков: {}, запросов: {}, запросов/с: {}, p50: {} мс, p99: {} мс, ошибок сервера: {}",
+                    concurrency, getRequests(), Math.round(getThroughput()), getPercentileMillis(0.5),
+                    getPercentileMillis(0.99), getServerErrors());
+            recorders.forEach((operation, recorder) -> log.info("{}: запросов: {}, p50: {} мс, p99: {} мс, " +
+                            "ошибок клиента: {}, ошибок сервера: {}", operation, recorder.count,
+                    recorder.percentileMillis(0.5), recorder.percentileMillis(0.99), recorder.clientErrors,
+                    recorder.serverErrors));
+        }
+    }
+
+    private static class Recorder {
+        private long[] latencies = new long[1024];
+        private int count;
+        private long clientErrors;
+        private long serverErrors;
+
+        private void record(long latency, int status) {
+            if (count == latencies.length) {
+                latencies = Arrays.copyOf(latencies, count * 2);
+            }
+            latencies[count++] = latency;
+            if (status >= 500) {
+                serverErrors++;
+            } else if (status >= 400) {
+                clientErrors++;
+            }
+        }
+
+        private void merge(Recorder other) {
+            latencies = Arrays.copyOf(latencies, Math.max(latencies.length, count + other.count));
+            System.arraycopy(other.latencies, 0, latencies, count, other.count);
+            count += other.count;
+            clientErrors += other.clientErrors;
+            serverErrors += other.serverErrors;
+        }
+
+        private double percentileMillis(double percentile) {
+            if (count == 0) {
+                return 0;
+            }
+            long[] sorted = Arrays.copyOf(latencies, count);
+            Arrays.sort(sorted);
+            int index = (int) Math.min(count - 1, Math.ceil(percentile * count) - 1);
+            return Math.round(sorted[Math.max(index, 0)] / 1e4) / 100.0;
+        }
+    }
+}
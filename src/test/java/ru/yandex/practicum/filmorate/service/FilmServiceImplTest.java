@@ -110,7 +110,7 @@ class FilmServiceImplTest {
 
         filmService.addLike(film.getId(), user.getId());
 
-        assertEquals(1, film.getLikes().size(), "Количество лайков не совпадает");
+        assertEquals(1, filmService.getFilmById(film.getId()).getLikes().size(), "Количество лайков не совпадает");
     }
 
     @Test
@@ -121,7 +121,7 @@ class FilmServiceImplTest {
 
         filmService.deleteLike(film.getId(), user.getId());
 
-        assertEquals(0, film.getLikes().size(), "Количество лайков не совпадает");
+        assertEquals(0, filmService.getFilmById(film.getId()).getLikes().size(), "Количество лайков не совпадает");
     }
 
     @Test
@@ -146,8 +146,8 @@ class FilmServiceImplTest {
         filmService.addLike(film.getId(), user1.getId());
         filmService.addLike(film1.getId(), user.getId());
         List<Film> expected = new ArrayList<>();
-        expected.add(film);
-        expected.add(film1);
+        expected.add(filmService.getFilmById(film.getId()));
+        expected.add(filmService.getFilmById(film1.getId()));
 
         List<Film> result = filmService.getPopularFilm(2);
 
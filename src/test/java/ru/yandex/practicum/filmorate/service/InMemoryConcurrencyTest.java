@@ -0,0 +1,167 @@
+package ru.yandex.practicum.filmorate.service;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import ru.yandex.practicum.filmorate.exception.ValidationException;
+import ru.yandex.practicum.filmorate.model.Film;
+import ru.yandex.practicum.filmorate.model.User;
+import ru.yandex.practicum.filmorate.service.impl.FilmServiceImpl;
+import ru.yandex.practicum.filmorate.service.impl.UserServiceImpl;
+import ru.yandex.practicum.filmorate.storage.film.InMemoryFilmStorage;
+import ru.yandex.practicum.filmorate.storage.user.InMemoryUserStorage;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class InMemoryConcurrencyTest {
+
+    private static final int THREADS = 8;
+    private static final int USERS_PER_THREAD = 250;
+
+    private FilmService filmService;
+    private UserService userService;
+
+    @BeforeEach
+    public void beforeEach() {
+        InMemoryUserStorage userStorage = new InMemoryUserStorage();
+        filmService = new FilmServiceImpl(new InMemoryFilmStorage(), userStorage);
+        userService = new UserServiceImpl(userStorage);
+    }
+
+    @Test
+    public void shouldGenerateUniqueIdsConcurrently() throws Exception {
+        List<Integer> ids = runConcurrently(thread -> {
+            List<Integer> created = new ArrayList<>();
+            for (int i = 0; i < USERS_PER_THREAD; i++) {
+                created.add(userService.createUser(createUser(thread * USERS_PER_THREAD + i)).getId());
+                created.add(-filmService.createFilm(createFilm(thread * USERS_PER_THREAD + i)).getId());
+            }
+            return created;
+        });
+
+        assertEquals(2 * THREADS * USERS_PER_THREAD, ids.stream().distinct().count(),
+                "Выданы повторяющиеся идентификаторы");
+        assertEquals(THREADS * USERS_PER_THREAD, userService.getAllUsers().size(), "Пользователи потеряны");
+        assertEquals(THREADS * USERS_PER_THREAD, filmService.getAllFilms().size(), "Фильмы потеряны");
+    }
+
+    @Test
+    public void shouldNotLoseLikesWhileFilmIsUpdated() throws Exception {
+        Film film = filmService.createFilm(createFilm(0));
+        List<Integer> userIds = createUsers(THREADS * USERS_PER_THREAD);
+
+        runConcurrently(thread -> {
+            for (int i = 0; i < USERS_PER_THREAD; i++) {
+                filmService.addLike(film.getId(), userIds.get(thread * USERS_PER_THREAD + i));
+                if (i % 10 == 0) {
+                    Film update = createFilm(i);
+                    update.setId(film.getId());
+                    filmService.updateFilm(update);
+                    filmService.getPopularFilm(10);
+                }
+            }
+            return List.of();
+        });
+
+        assertEquals(Set.copyOf(userIds), filmService.getFilmById(film.getId()).getLikes(), "Лайки потеряны");
+    }
+
+    @Test
+    public void shouldKeepFriendshipSymmetricUnderConcurrentChanges() throws Exception {
+        List<Integer> userIds = createUsers(THREADS * 10);
+
+        runConcurrently(thread -> {
+            for (int i = 0; i < userIds.size(); i++) {
+                for (int j = i + 1; j < userIds.size(); j++) {
+                    if ((i + j) % THREADS == thread) {
+                        userService.addFriend(userIds.get(i), userIds.get(j));
+                        userService.deleteFriend(userIds.get(j), userIds.get(i));
+                        userService.addFriend(userIds.get(j), userIds.get(i));
+                    }
+                }
+                userService.getCommonFriends(userIds.get(i), userIds.get(0));
+            }
+            return List.of();
+        });
+
+        for (Integer userId : userIds) {
+            Set<Integer> expected = userIds.stream()
+                    .filter(id -> !id.equals(userId))
+                    .collect(Collectors.toSet());
+            assertEquals(expected, userService.getUserById(userId).getFriendsIds(),
+                    "Друзья пользователя id=" + userId + " потеряны");
+        }
+    }
+
+    @Test
+    public void shouldRegisterEachEmailAndLoginOnce() throws Exception {
+        List<Integer> ids = runConcurrently(thread -> {
+            List<Integer> created = new ArrayList<>();
+            for (int i = 0; i < USERS_PER_THREAD; i++) {
+                try {
+                    created.add(userService.createUser(createUser(i)).getId());
+                } catch (ValidationException e) {
+                    continue;
+                }
+            }
+            return created;
+        });
+
+        assertEquals(USERS_PER_THREAD, ids.size(), "Создан пользователь с занятым email или логином");
+        assertEquals(USERS_PER_THREAD, userService.getAllUsers().size(), "Созданы дубликаты пользователей");
+    }
+
+    private List<Integer> runConcurrently(ThreadTask task) throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<List<Integer>>> futures = new ArrayList<>();
+        for (int thread = 0; thread < THREADS; thread++) {
+            int threadNumber = thread;
+            Callable<List<Integer>> callable = () -> {
+                start.await();
+                return task.run(threadNumber);
+            };
+            futures.add(executor.submit(callable));
+        }
+        start.countDown();
+        List<Integer> results = new ArrayList<>();
+        for (Future<List<Integer>> future : futures) {
+            results.addAll(future.get(1, TimeUnit.MINUTES));
+        }
+        executor.shutdown();
+        return results;
+    }
+
+    private List<Integer> createUsers(int count) {
+        List<Integer> userIds = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            userIds.add(userService.createUser(createUser(i)).getId());
+        }
+        return userIds;
+    }
+
+    private User createUser(int number) {
+        return User.builder().email("user" + number + "@mail.ru").login("login" + number)
+                .birthday(LocalDate.of(1990, 1, 1)).build();
+    }
+
+    private Film createFilm(int number) {
+        return Film.builder().name("Film" + number).description("description")
+                .releaseDate(LocalDate.of(2000, 1, 1)).duration(100).build();
+    }
+
+    private interface ThreadTask {
+        List<Integer> run(int thread) throws Exception;
+    }
+}
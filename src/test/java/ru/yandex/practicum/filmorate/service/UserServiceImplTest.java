@@ -102,8 +102,8 @@ class UserServiceImplTest {
 
         service.addFriend(userResult1.getId(), userResult2.getId());
 
-        assertEquals(1, userResult1.getFriendsIds().size(), "Список друзей не совпадает");
-        assertEquals(1, userResult2.getFriendsIds().size(), "Список друзей не совпадает");
+        assertEquals(1, service.getUserById(userResult1.getId()).getFriendsIds().size(), "Список друзей не совпадает");
+        assertEquals(1, service.getUserById(userResult2.getId()).getFriendsIds().size(), "Список друзей не совпадает");
     }
 
     @Test
@@ -117,8 +117,8 @@ class UserServiceImplTest {
 
         service.deleteFriend(userResult1.getId(), userResult2.getId());
 
-        assertEquals(0, userResult1.getFriendsIds().size(), "Список друзей не совпадает");
-        assertEquals(0, userResult2.getFriendsIds().size(), "Список друзей не совпадает");
+        assertEquals(0, service.getUserById(userResult1.getId()).getFriendsIds().size(), "Список друзей не совпадает");
+        assertEquals(0, service.getUserById(userResult2.getId()).getFriendsIds().size(), "Список друзей не совпадает");
     }
 
     @Test
@@ -163,7 +163,7 @@ class UserServiceImplTest {
         service.addFriend(userResult1.getId(), userResult3.getId());
         service.addFriend(userResult2.getId(), userResult3.getId());
         List<User> expected = new ArrayList<>();
-        expected.add(userResult3);
+        expected.add(service.getUserById(userResult3.getId()));
 
         List<User> commonFriends = service.getCommonFriends(userResult1.getId(), userResult2.getId());
 